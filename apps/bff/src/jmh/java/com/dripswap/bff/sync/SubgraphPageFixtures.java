@@ -0,0 +1,146 @@
+package com.dripswap.bff.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * 基准用的子图分页数据
+ *
+ * <p>字段与 {@link SubgraphEntityCatalog} 的查询一致，取值形状参照 specs/v2-subgraph-data-structure.md
+ * 和 specs/v2-tokens-subgraph-data-structure.md：地址与 id 全小写，BigDecimal 以字符串返回（最多 18 位小数），
+ * BigInt 以十进制字符串返回。固定种子，每次运行数据相同。</p>
+ */
+final class SubgraphPageFixtures {
+
+    static final int PAGE_SIZE = 500;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SubgraphPageFixtures() {
+    }
+
+    static ArrayNode swaps(int rows) {
+        Random random = new Random(42);
+        String[] pairs = addresses(random, 40);
+        ArrayNode page = MAPPER.createArrayNode();
+        long block = 6_200_000L;
+        long timestamp = 1_718_000_000L;
+        for (int i = 0; i < rows; i++) {
+            block += random.nextInt(3);
+            timestamp += random.nextInt(30);
+            String txHash = hex(random, 64);
+            boolean zeroForOne = random.nextBoolean();
+
+            ObjectNode row = page.addObject();
+            row.put("id", txHash + "-" + random.nextInt(4));
+            ObjectNode tx = row.putObject("transaction");
+            tx.put("id", txHash);
+            tx.put("blockNumber", Long.toString(block));
+            tx.put("timestamp", Long.toString(timestamp));
+            row.put("timestamp", Long.toString(timestamp));
+            row.putObject("pair").put("id", pairs[random.nextInt(pairs.length)]);
+            row.put("sender", address(random));
+            row.put("from", address(random));
+            row.put("to", address(random));
+            row.put("amount0In", zeroForOne ? amount(random, 1_000) : "0");
+            row.put("amount1In", zeroForOne ? "0" : amount(random, 1_000_000));
+            row.put("amount0Out", zeroForOne ? "0" : amount(random, 1_000));
+            row.put("amount1Out", zeroForOne ? amount(random, 1_000_000) : "0");
+            row.put("logIndex", Integer.toString(random.nextInt(300)));
+            row.put("amountUSD", amount(random, 50_000));
+        }
+        return page;
+    }
+
+    static ArrayNode pairs(int rows) {
+        Random random = new Random(7);
+        String[] tokens = addresses(random, 120);
+        ArrayNode page = MAPPER.createArrayNode();
+        for (int i = 0; i < rows; i++) {
+            ObjectNode row = page.addObject();
+            row.put("id", address(random));
+            row.putObject("token0").put("id", tokens[random.nextInt(tokens.length)]);
+            row.putObject("token1").put("id", tokens[random.nextInt(tokens.length)]);
+            row.put("reserve0", amount(random, 10_000_000));
+            row.put("reserve1", amount(random, 10_000_000));
+            row.put("totalSupply", amount(random, 1_000_000));
+            row.put("reserveETH", amount(random, 5_000));
+            row.put("reserveUSD", amount(random, 20_000_000));
+            row.put("trackedReserveETH", amount(random, 5_000));
+            row.put("token0Price", amount(random, 4_000));
+            row.put("token1Price", amount(random, 1));
+            row.put("volumeToken0", amount(random, 100_000_000));
+            row.put("volumeToken1", amount(random, 100_000_000));
+            row.put("volumeUSD", amount(random, 500_000_000));
+            row.put("untrackedVolumeUSD", amount(random, 500_000_000));
+            row.put("txCount", Integer.toString(random.nextInt(2_000_000)));
+            row.put("liquidityProviderCount", Integer.toString(random.nextInt(5_000)));
+            row.put("createdAtTimestamp", Long.toString(1_600_000_000L + random.nextInt(100_000_000)));
+            row.put("createdAtBlockNumber", Long.toString(4_000_000L + random.nextInt(2_000_000)));
+        }
+        return page;
+    }
+
+    static ArrayNode tokenMinuteData(int rows) {
+        Random random = new Random(11);
+        String[] tokens = addresses(random, 25);
+        ArrayNode page = MAPPER.createArrayNode();
+        int minute = 1_718_000_000 / 60;
+        for (int i = 0; i < rows; i++) {
+            String token = tokens[i % tokens.length];
+            if (i % tokens.length == 0) {
+                minute += 1 + random.nextInt(3);
+            }
+            BigDecimal open = new BigDecimal(amount(random, 4_000));
+            BigDecimal close = open.multiply(BigDecimal.valueOf(0.98 + random.nextDouble() * 0.04)).setScale(18, RoundingMode.DOWN);
+
+            ObjectNode row = page.addObject();
+            row.put("id", token + "-" + minute);
+            row.put("periodStartUnix", minute * 60);
+            row.putObject("token").put("id", token);
+            row.put("volume", amount(random, 10_000));
+            row.put("volumeUSD", amount(random, 1_000_000));
+            row.put("untrackedVolumeUSD", amount(random, 1_000_000));
+            row.put("totalValueLocked", amount(random, 10_000_000));
+            row.put("totalValueLockedUSD", amount(random, 50_000_000));
+            row.put("priceUSD", close.toPlainString());
+            row.put("feesUSD", amount(random, 3_000));
+            row.put("open", open.toPlainString());
+            row.put("high", open.max(close).multiply(new BigDecimal("1.005")).setScale(18, RoundingMode.DOWN).toPlainString());
+            row.put("low", open.min(close).multiply(new BigDecimal("0.995")).setScale(18, RoundingMode.DOWN).toPlainString());
+            row.put("close", close.toPlainString());
+        }
+        return page;
+    }
+
+    private static String amount(Random random, int magnitude) {
+        return BigDecimal.valueOf(random.nextDouble() * magnitude)
+                .setScale(random.nextInt(19), RoundingMode.DOWN)
+                .toPlainString();
+    }
+
+    private static String[] addresses(Random random, int count) {
+        String[] addresses = new String[count];
+        for (int i = 0; i < count; i++) {
+            addresses[i] = address(random);
+        }
+        return addresses;
+    }
+
+    private static String address(Random random) {
+        return hex(random, 40);
+    }
+
+    private static String hex(Random random, int digits) {
+        StringBuilder hex = new StringBuilder(digits + 2).append("0x");
+        for (int i = 0; i < digits; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package com.dripswap.bff.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 本地子图替身：回放录制的 GraphQL 分页，无需访问 api.studio.thegraph.com
+ *
+ * <p>每个 URL 路径对应一个子图，录制文件为 {@code {recordings}/{path}/{collection}.json}（按 id 升序的行数组），
+ * 例如 {@code v2/swaps.json}、{@code v2-tokens/tokenMinuteDatas.json}。请求按 {@link SubgraphEntitySpec}
+ * 生成的查询解析：集合名取第一个带参数的字段，支持 {@code first}、{@code skip}、{@code lastId}（id_gt）
+ * 和 {@code fromBlock}（_change_block，按行内 transaction.blockNumber / createdAtBlockNumber 过滤，没有区块的行视为 0 块）。
+ * 每个响应都带 {@code _meta { block hasIndexingErrors }}，只查询 {@code _meta} 时只返回它。</p>
+ *
+ * <p>没有录制文件的集合可以用 {@link #synthetic} 注册生成器；录制模式（{@link #recordFrom}）把请求转发到真实 endpoint，
+ * 把返回的行按 id 累积，{@link #stop()} 时写入录制目录——对着它跑一次全量同步即可得到完整录制。</p>
+ *
+ * <p>可注入固定延迟 + 随机抖动，以及按比例返回 HTTP 503（JdkHttpSubgraphTransport 会以 IOException 抛出）。</p>
+ */
+public final class SubgraphReplayServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern COLLECTION = Pattern.compile("\\{\\s*(\\w+)\\s*\\(");
+
+    private final Path recordings;
+    private final ConcurrentMap<String, List<JsonNode>> collections = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<ArrayNode>> generators = new HashMap<>();
+    private final Map<String, URI> upstreams = new HashMap<>();
+    private final ConcurrentMap<String, Map<String, JsonNode>> recorded = new ConcurrentHashMap<>();
+    private final HttpClient upstreamClient = HttpClient.newHttpClient();
+
+    private long headBlock = 10_000_000L;
+    private long headTimestamp = System.currentTimeMillis() / 1000;
+    private long latencyMs;
+    private long latencyJitterMs;
+    private double errorRate;
+    private HttpServer server;
+
+    public SubgraphReplayServer(Path recordings) {
+        this.recordings = recordings;
+    }
+
+    /**
+     * 没有录制文件时由 generator 生成（按 id 排序后回放）
+     */
+    public SubgraphReplayServer synthetic(String subgraph, String collection, Supplier<ArrayNode> generator) {
+        generators.put(subgraph + "/" + collection, generator);
+        return this;
+    }
+
+    public SubgraphReplayServer recordFrom(String subgraph, URI upstream) {
+        upstreams.put(subgraph, upstream);
+        return this;
+    }
+
+    public SubgraphReplayServer latency(long fixedMs, long jitterMs) {
+        this.latencyMs = fixedMs;
+        this.latencyJitterMs = jitterMs;
+        return this;
+    }
+
+    public SubgraphReplayServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public SubgraphReplayServer head(long block, long timestamp) {
+        this.headBlock = block;
+        this.headTimestamp = timestamp;
+        return this;
+    }
+
+    public SubgraphReplayServer start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(SyncThreads.named("subgraph-replay")));
+        server.start();
+        return this;
+    }
+
+    /**
+     * @return 某个子图的 endpoint URL
+     */
+    public String endpoint(String subgraph) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/" + subgraph;
+    }
+
+    public void stop() throws IOException {
+        if (server != null) {
+            server.stop(0);
+        }
+        for (Map.Entry<String, Map<String, JsonNode>> entry : recorded.entrySet()) {
+            Path file = recordings.resolve(entry.getKey() + ".json");
+            Files.createDirectories(file.getParent());
+            ArrayNode rows = MAPPER.createArrayNode();
+            new TreeMap<>(entry.getValue()).values().forEach(rows::add);
+            MAPPER.writeValue(file.toFile(), rows);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String subgraph = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "");
+            byte[] requestBody = readBody(exchange);
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, "{\"error\":\"injected failure\"}".getBytes());
+                return;
+            }
+
+            URI upstream = upstreams.get(subgraph);
+            byte[] response = upstream != null
+                    ? forward(upstream, subgraph, requestBody)
+                    : MAPPER.writeValueAsBytes(replay(subgraph, MAPPER.readTree(requestBody)));
+            respond(exchange, 200, response);
+        } catch (Exception e) {
+            respond(exchange, 500, MAPPER.writeValueAsBytes(Map.of("errors", List.of(Map.of("message", String.valueOf(e.getMessage()))))));
+        }
+    }
+
+    private ObjectNode replay(String subgraph, JsonNode request) throws IOException {
+        String query = request.path("query").asText();
+        JsonNode variables = request.path("variables");
+
+        ObjectNode data = MAPPER.createObjectNode();
+        Matcher matcher = COLLECTION.matcher(query.substring(Math.max(0, query.indexOf(')') + 1)));
+        if (query.contains("(") && matcher.find() && !"_meta".equals(matcher.group(1))) {
+            String collection = matcher.group(1);
+            List<JsonNode> rows = rows(subgraph, collection);
+            int first = variables.path("first").asInt(100);
+            int skip = variables.path("skip").asInt(0);
+            String lastId = variables.path("lastId").asText("");
+            long fromBlock = variables.path("fromBlock").asLong(0);
+
+            int start = lastId.isEmpty() ? 0 : upperBound(rows, lastId);
+            ArrayNode page = data.putArray(collection);
+            for (int i = start + skip; i < rows.size() && page.size() < first; i++) {
+                if (fromBlock <= 0 || changeBlock(rows.get(i)) >= fromBlock) {
+                    page.add(rows.get(i));
+                }
+            }
+        }
+        ObjectNode meta = data.putObject("_meta");
+        meta.putObject("block").put("number", headBlock).put("timestamp", headTimestamp);
+        meta.put("hasIndexingErrors", false);
+
+        ObjectNode response = MAPPER.createObjectNode();
+        response.set("data", data);
+        return response;
+    }
+
+    private List<JsonNode> rows(String subgraph, String collection) throws IOException {
+        String key = subgraph + "/" + collection;
+        List<JsonNode> rows = collections.get(key);
+        if (rows != null) {
+            return rows;
+        }
+        List<JsonNode> loaded = new ArrayList<>();
+        Path file = recordings == null ? null : recordings.resolve(key + ".json");
+        if (file != null && Files.isRegularFile(file)) {
+            MAPPER.readTree(file.toFile()).forEach(loaded::add);
+        } else if (generators.containsKey(key)) {
+            generators.get(key).get().forEach(loaded::add);
+        }
+        loaded.sort(Comparator.comparing(row -> row.path("id").asText()));
+        collections.putIfAbsent(key, List.copyOf(loaded));
+        return collections.get(key);
+    }
+
+    private byte[] forward(URI upstream, String subgraph, byte[] requestBody) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = upstreamClient.send(
+                HttpRequest.newBuilder(upstream)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Upstream returned " + response.statusCode());
+        }
+        JsonNode data = MAPPER.readTree(response.body()).path("data");
+        data.fieldNames().forEachRemaining(field -> {
+            if (!"_meta".equals(field) && data.get(field).isArray()) {
+                Map<String, JsonNode> rows = recorded.computeIfAbsent(subgraph + "/" + field, k -> new ConcurrentHashMap<>());
+                data.get(field).forEach(row -> rows.put(row.path("id").asText(), row));
+            }
+        });
+        return response.body();
+    }
+
+    private void delay() throws InterruptedException {
+        long jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0;
+        if (latencyMs + jitter > 0) {
+            Thread.sleep(latencyMs + jitter);
+        }
+    }
+
+    /**
+     * 第一个 id 大于 lastId 的行下标
+     */
+    private static int upperBound(List<JsonNode> rows, String lastId) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows.get(mid).path("id").asText().compareTo(lastId) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long changeBlock(JsonNode row) {
+        JsonNode block = row.path("transaction").path("blockNumber");
+        if (block.isMissingNode()) {
+            block = row.path("createdAtBlockNumber");
+        }
+        return block.isMissingNode() ? 0L : block.asLong(0L);
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            in = new GZIPInputStream(in);
+        }
+        try (InputStream body = in) {
+            return body.readAllBytes();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(body);
+            }
+        } else {
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * 独立运行，把 BFF 的 endpoint 指向它：
+     * {@code SubgraphReplayServer <recordings-dir> [port] [record:v2=https://...]...}
+     */
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(args.length > 0 ? args[0] : "target/subgraph-recordings");
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 18080;
+        SubgraphReplayServer server = new SubgraphReplayServer(dir)
+                .latency(Long.getLong("replay.latency-ms", 0L), Long.getLong("replay.latency-jitter-ms", 0L))
+                .errorRate(Double.parseDouble(System.getProperty("replay.error-rate", "0")));
+        for (int i = 2; i < args.length; i++) {
+            String[] upstream = args[i].substring("record:".length()).split("=", 2);
+            server.recordFrom(upstream[0], URI.create(upstream[1]));
+        }
+        server.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.stop();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        System.out.println("Subgraph replay server on " + server.endpoint("v2") + " (recordings: " + dir.toAbsolutePath() + ")");
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dripswap.bff.sync;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同步解码路径基准：一页 500 行 JsonNode → 实体（只解析，不落库）
+ *
+ * <p>每次调用解析一整页，结果为 ns/页；配合默认的 {@code -prof gc} 看 {@code gc.alloc.rate.norm}（字节/页）。
+ * 修改 parseX / parseBigDecimal / parseLong 前后各跑一次，用 {@code -rf json} 保存结果对比。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SyncDecodeBenchmark {
+
+    private static final String CHAIN_ID = "sepolia";
+
+    // 解析阶段不会用到落库依赖
+    private final SwapSyncHandler swapSyncHandler = new SwapSyncHandler(null, null);
+    private final PairSyncHandler pairSyncHandler = new PairSyncHandler(null);
+    private final TokenMinuteDataSyncHandler tokenMinuteDataSyncHandler = new TokenMinuteDataSyncHandler(null, null);
+
+    private ArrayNode swaps;
+    private ArrayNode pairs;
+    private ArrayNode tokenMinuteData;
+
+    @Setup
+    public void setUp() {
+        swaps = SubgraphPageFixtures.swaps(SubgraphPageFixtures.PAGE_SIZE);
+        pairs = SubgraphPageFixtures.pairs(SubgraphPageFixtures.PAGE_SIZE);
+        tokenMinuteData = SubgraphPageFixtures.tokenMinuteData(SubgraphPageFixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ParsedPage parseSwaps() {
+        return swapSyncHandler.parseSwaps(CHAIN_ID, swaps);
+    }
+
+    @Benchmark
+    public ParsedPage parsePairs() {
+        return pairSyncHandler.parsePairs(CHAIN_ID, pairs);
+    }
+
+    @Benchmark
+    public ParsedPage parseTokenMinuteData() {
+        return tokenMinuteDataSyncHandler.parseTokenMinuteData(CHAIN_ID, tokenMinuteData);
+    }
+}
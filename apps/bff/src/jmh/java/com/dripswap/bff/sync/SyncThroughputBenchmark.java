@@ -0,0 +1,124 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.DripSwapBffApplication;
+import com.dripswap.bff.config.SubgraphProperties;
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 端到端全量同步基准：{@link SubgraphReplayServer} + 嵌入式 Postgres + 完整 Spring 上下文，
+ * 对一条链执行 {@link SubgraphSyncService#syncChain}，输出每个实体的行数、耗时和 rows/s
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Dbench.main=com.dripswap.bff.sync.SyncThroughputBenchmark -Djmh.args= \
+ *     -Dbench.jvm.args="-Dbench.synthetic-rows=50000 -Dbench.latency-ms=20"
+ * </pre>
+ *
+ * <p>基准进程的系统属性（经 {@code bench.jvm.args} 传入）：</p>
+ * <ul>
+ *   <li>{@code bench.recordings}：录制目录（见 {@link SubgraphReplayServer}），未录制的 swaps / pairs / tokenMinuteDatas 用合成数据</li>
+ *   <li>{@code bench.synthetic-rows}：每个合成集合的行数，默认 20000</li>
+ *   <li>{@code bench.latency-ms} / {@code bench.latency-jitter-ms} / {@code bench.error-rate}：注入延迟和错误</li>
+ *   <li>{@code bench.jdbc-url} / {@code bench.jdbc-user} / {@code bench.jdbc-password}：使用已有的空库代替嵌入式 Postgres
+ *       （嵌入式 Postgres 不能以 root 运行）</li>
+ * </ul>
+ */
+public final class SyncThroughputBenchmark {
+
+    private static final String CHAIN_ID = "bench";
+
+    private SyncThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path recordings = Path.of(System.getProperty("bench.recordings", "target/subgraph-recordings"));
+        int syntheticRows = Integer.getInteger("bench.synthetic-rows", 20_000);
+
+        SubgraphReplayServer replay = new SubgraphReplayServer(recordings)
+                .synthetic("v2", "swaps", () -> SubgraphPageFixtures.swaps(syntheticRows))
+                .synthetic("v2", "pairs", () -> SubgraphPageFixtures.pairs(syntheticRows))
+                .synthetic("v2-tokens", "tokenMinuteDatas", () -> SubgraphPageFixtures.tokenMinuteData(syntheticRows))
+                .latency(Long.getLong("bench.latency-ms", 0L), Long.getLong("bench.latency-jitter-ms", 0L))
+                .errorRate(Double.parseDouble(System.getProperty("bench.error-rate", "0")))
+                .start(0);
+
+        String jdbcUrl = System.getProperty("bench.jdbc-url");
+        String jdbcUser = System.getProperty("bench.jdbc-user", "postgres");
+        String jdbcPassword = System.getProperty("bench.jdbc-password", "postgres");
+        EmbeddedPostgres postgres = null;
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DripSwapBffApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + jdbcUser,
+                        "--spring.datasource.password=" + jdbcPassword,
+                        "--subgraph.source=graphql",
+                        "--subgraph.delta.enabled=false",
+                        "--subgraph.chains[0].id=" + CHAIN_ID,
+                        "--subgraph.chains[0].enabled=true",
+                        "--subgraph.chains[0].endpoint-v2=" + replay.endpoint("v2"),
+                        "--subgraph.chains[0].endpoint-v2-tokens=" + replay.endpoint("v2-tokens"),
+                        "--dripswap.cache.subscribe-invalidations=false",
+                        "--management.tracing.enabled=false",
+                        "--logging.level.com.dripswap.bff=WARN",
+                        // 基准环境没有 Redis，缓存失效只会打印连接失败
+                        "--logging.level.com.dripswap.bff.cache=ERROR"
+                )) {
+            SubgraphProperties.ChainConfig chain = context.getBean(SubgraphProperties.class).getChains().get(0);
+            SubgraphSyncService syncService = context.getBean(SubgraphSyncService.class);
+
+            long startedAt = System.nanoTime();
+            syncService.syncChain(chain);
+            long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+            report(context, elapsedMs);
+        } finally {
+            replay.stop();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static void report(ConfigurableApplicationContext context, long elapsedMs) {
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        List<SyncStatus> statuses = new ArrayList<>(context.getBean(SyncStatusRepository.class).findByChainId(CHAIN_ID));
+        statuses.sort(Comparator.comparing(SyncStatus::getEntityType));
+
+        long totalRows = 0;
+        System.out.printf("%n%-22s %-10s %12s %10s %12s %10s%n", "entity", "status", "rows", "ms", "rows/s", "skipped");
+        for (SyncStatus status : statuses) {
+            long rows = (long) rows(meterRegistry, status.getEntityType(), "persisted");
+            long skipped = (long) rows(meterRegistry, status.getEntityType(), "skipped");
+            long ms = status.getLastDurationMs() == null ? 0 : status.getLastDurationMs();
+            totalRows += rows;
+            System.out.printf("%-22s %-10s %12d %10d %12.0f %10d%n",
+                    status.getEntityType(), status.getSyncStatus(), rows, ms, ms == 0 ? 0.0 : rows * 1000.0 / ms, skipped);
+        }
+        System.out.printf("%-22s %-10s %12d %10d %12.0f%n%n", "total (wall clock)", "", totalRows, elapsedMs,
+                elapsedMs == 0 ? 0.0 : totalRows * 1000.0 / elapsedMs);
+    }
+
+    private static double rows(MeterRegistry meterRegistry, String entityType, String stage) {
+        Counter counter = meterRegistry.find("dripswap.sync.rows")
+                .tags("chain", CHAIN_ID, "entity", entityType, "stage", stage)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
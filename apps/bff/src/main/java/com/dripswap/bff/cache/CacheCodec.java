@@ -0,0 +1,28 @@
+package com.dripswap.bff.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+
+/**
+ * Redis L2 缓存值编解码
+ *
+ * <p>{@link QueryCache} 写入时在编码结果前加一个格式字节 {@link #formatId()}，读取时按该字节选择解码器，
+ * 切换 {@code dripswap.cache.codec} 后旧格式的键仍能读出，直到自然过期。</p>
+ */
+public interface CacheCodec {
+
+    /**
+     * 配置名，对应 {@code dripswap.cache.codec}
+     */
+    String name();
+
+    /**
+     * 写在值首字节的格式版本；不能与 JSON 文本的首字符冲突
+     */
+    byte formatId();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] data, int offset, int length, JavaType type) throws IOException;
+}
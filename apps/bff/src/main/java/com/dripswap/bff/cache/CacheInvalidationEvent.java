@@ -0,0 +1,13 @@
+package com.dripswap.bff.cache;
+
+import java.util.Set;
+
+/**
+ * 同步写入某条链的数据后发布；事务提交后清除对应命名空间的缓存
+ */
+public record CacheInvalidationEvent(String chainId, Set<CacheNamespace> namespaces) {
+
+    public static CacheInvalidationEvent of(String chainId, CacheNamespace... namespaces) {
+        return new CacheInvalidationEvent(chainId, Set.of(namespaces));
+    }
+}
@@ -0,0 +1,92 @@
+package com.dripswap.bff.cache;
+
+import com.dripswap.bff.config.QueryCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 同步驱动的缓存失效
+ *
+ * <p>SyncHandler 在落库事务中发布 {@link CacheInvalidationEvent}，提交后记入待失效集合；
+ * 每 {@code dripswap.cache.invalidation-flush-ms} 合并一次：本实例清除 L1、Redis 键和依赖的响应字节缓存，
+ * 再在 {@code dripswap.cache.invalidation-channel} 上广播，其余实例收到后只清除自己的 L1 和响应字节缓存。
+ * 全量同步每秒提交很多页，合并后同一链同一命名空间每个周期只清一次。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator implements MessageListener {
+
+    private final QueryCache queryCache;
+    private final ResponseByteCache responseCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final QueryCacheProperties properties;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<Target> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 事务提交后才记录，回滚的页不会触发失效；没有事务时（如直接调用 handleX）立即记录
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvalidation(CacheInvalidationEvent event) {
+        for (CacheNamespace namespace : event.namespaces()) {
+            pending.add(new Target(event.chainId(), namespace));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dripswap.cache.invalidation-flush-ms:1000}")
+    public void flush() {
+        for (Target target : pending) {
+            if (!pending.remove(target)) {
+                continue;
+            }
+            queryCache.evict(target.chainId(), target.namespace());
+            responseCache.evict(target.namespace());
+            publish(target);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Broadcast broadcast = objectMapper.readValue(message.getBody(), Broadcast.class);
+            if (instanceId.equals(broadcast.origin())) {
+                return;
+            }
+            queryCache.evictLocal(broadcast.chainId(), broadcast.namespace());
+            responseCache.evict(broadcast.namespace());
+            log.debug("Evicted L1 {} for chain {} on broadcast from {}", broadcast.namespace(), broadcast.chainId(), broadcast.origin());
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", new String(message.getBody()), e);
+        }
+    }
+
+    private void publish(Target target) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Broadcast(instanceId, target.chainId(), target.namespace()));
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), payload);
+        } catch (Exception e) {
+            // 其他实例的 L1 最多在 l1-max-ttl-seconds 后过期
+            log.warn("Failed to broadcast cache invalidation for {} on chain {}", target.namespace(), target.chainId(), e);
+        }
+    }
+
+    private record Target(String chainId, CacheNamespace namespace) {
+    }
+
+    record Broadcast(String origin, String chainId, CacheNamespace namespace) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.dripswap.bff.cache;
+
+/**
+ * 查询缓存命名空间
+ * Redis 键格式：ds:v2:{chain}:{keySegment}:{suffix...}，失效时按 {@link #keyPrefix(String)} 整段清除
+ */
+public enum CacheNamespace {
+    RECENT_TRANSACTIONS("tx:recent", "tx:global:recent"),
+    EXPLORE_STATS("explore:stats", "explore:stats"),
+    TOKEN_LIST("tokens:list", "tokens:list"),
+    /**
+     * 已收盘的 K 线分块，内容不再变化，不参与同步失效
+     */
+    CANDLES("candles", "candles");
+
+    private final String metricName;
+    private final String keySegment;
+
+    CacheNamespace(String metricName, String keySegment) {
+        this.metricName = metricName;
+        this.keySegment = keySegment;
+    }
+
+    /**
+     * 指标 namespace 标签
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String keyPrefix(String chainId) {
+        return "ds:v2:" + chainId + ":" + keySegment + ":";
+    }
+
+    public String key(String chainId, Object... parts) {
+        StringBuilder key = new StringBuilder(keyPrefix(chainId));
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                key.append(':');
+            }
+            key.append(parts[i]);
+        }
+        return key.toString();
+    }
+}
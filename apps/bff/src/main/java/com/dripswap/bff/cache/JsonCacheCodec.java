@@ -0,0 +1,42 @@
+package com.dripswap.bff.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 纯 JSON（UTF-8），便于在 redis-cli 中直接查看
+ */
+@Component
+public class JsonCacheCodec implements CacheCodec {
+
+    static final byte FORMAT_ID = 0x01;
+
+    private final ObjectMapper objectMapper;
+
+    public JsonCacheCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public byte formatId() {
+        return FORMAT_ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, JavaType type) throws IOException {
+        return objectMapper.readValue(data, offset, length, type);
+    }
+}
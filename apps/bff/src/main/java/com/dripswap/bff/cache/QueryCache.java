@@ -0,0 +1,291 @@
+package com.dripswap.bff.cache;
+
+import com.dripswap.bff.config.QueryCacheProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 两级查询缓存：进程内 L1（Caffeine，按条数和 TTL 淘汰）→ Redis L2（ds:v2:* 键）→ loader
+ *
+ * <p>L1 保存反序列化后的对象，命中时不走网络也不解析 JSON；L1 TTL 不超过 Redis TTL，
+ * 上限由 {@code dripswap.cache.l1-max-ttl-seconds} 控制。L1 和 L2 都未命中时同一个键只有一个
+ * 线程执行 Redis 读取和 loader，其余线程等待它的结果（single-flight）。</p>
+ *
+ * <p>缓存值必须视为不可变。同步写入数据后通过 {@link #evict} / {@link #evictLocal} 按链和命名空间精确失效，
+ * 失效前已开始的加载不会回写缓存。</p>
+ *
+ * <p>Redis 中的值为 {@code [格式字节][编码结果]}，写入格式由 {@code dripswap.cache.codec} 选择
+ * （见 {@link CacheCodec}）；首字节不是已知格式的旧值按纯 JSON 文本读取。</p>
+ *
+ * <p>指标：{@code dripswap.cache.gets{namespace, result=l1_hit|l2_hit|miss}}、
+ * {@code dripswap.cache.load{namespace}}、{@code dripswap.cache.coalesced{namespace}}、
+ * {@code dripswap.cache.evictions{namespace}}、
+ * {@code dripswap.cache.l2.bytes{namespace, codec}}（写入 Redis 的值大小）。</p>
+ */
+@Slf4j
+@Component
+public class QueryCache {
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final QueryCacheProperties properties;
+    private final CacheCodec writeCodec;
+    private final Map<Byte, CacheCodec> codecsByFormat = new HashMap<>();
+    private final Cache<String, Entry> l1;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public QueryCache(
+            @Qualifier("cacheRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            QueryCacheProperties properties,
+            List<CacheCodec> codecs
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        CacheCodec selected = null;
+        for (CacheCodec codec : codecs) {
+            if (codecsByFormat.put(codec.formatId(), codec) != null) {
+                throw new IllegalStateException("Duplicate cache codec format id " + codec.formatId());
+            }
+            if (codec.name().equals(properties.getCodec())) {
+                selected = codec;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("Unknown dripswap.cache.codec: " + properties.getCodec());
+        }
+        this.writeCodec = selected;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, properties.getL1MaxSize()))
+                .expireAfter(new EntryExpiry())
+                .build();
+        meterRegistry.gauge("dripswap.cache.l1.size", l1, Cache::estimatedSize);
+    }
+
+    public <T> T get(CacheNamespace namespace, String key, Duration ttl, Class<T> type, Supplier<T> loader) {
+        return get(namespace, key, ttl, objectMapper.constructType(type), loader);
+    }
+
+    /**
+     * @param namespace 键所属命名空间，{@code key} 必须以它的前缀开头
+     * @param key       Redis 键
+     * @param ttl       Redis TTL
+     * @param type      Redis 中 JSON 的目标类型
+     * @param loader    两级都未命中时加载；返回 null 时不缓存
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(CacheNamespace namespace, String key, Duration ttl, JavaType type, Supplier<T> loader) {
+        Entry hit = lookupL1(key);
+        if (hit != null) {
+            count(namespace, "l1_hit");
+            return (T) hit.value;
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            meterRegistry.counter("dripswap.cache.coalesced", "namespace", namespace.getMetricName()).increment();
+            try {
+                return (T) leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            T value = load(namespace, key, ttl, type, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 清除某条链一个命名空间的 L1 和 Redis 条目（由写入数据的实例调用）
+     */
+    public void evict(String chainId, CacheNamespace namespace) {
+        String prefix = evictLocal(chainId, namespace);
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(500).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            log.debug("Evicted {} Redis keys under {}", keys.size(), prefix);
+        } catch (Exception e) {
+            log.warn("Redis eviction failed for prefix: {}", prefix, e);
+        }
+    }
+
+    /**
+     * 只清除本进程 L1（收到其他实例的失效广播时调用）
+     *
+     * @return 被清除的键前缀
+     */
+    public String evictLocal(String chainId, CacheNamespace namespace) {
+        String prefix = namespace.keyPrefix(chainId);
+        // 先推进代数，正在进行的加载完成后不会把旧数据写回
+        generations.computeIfAbsent(prefix, k -> new AtomicLong()).incrementAndGet();
+        l1.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        meterRegistry.counter("dripswap.cache.evictions", "namespace", namespace.getMetricName()).increment();
+        return prefix;
+    }
+
+    private long generation(String prefix) {
+        AtomicLong generation = generations.get(prefix);
+        return generation == null ? 0L : generation.get();
+    }
+
+    private <T> T load(CacheNamespace namespace, String key, Duration ttl, JavaType type, Supplier<T> loader) {
+        // 抢到 leader 之前可能刚有另一个 leader 完成并写入 L1
+        Entry hit = lookupL1(key);
+        if (hit != null) {
+            count(namespace, "l1_hit");
+            @SuppressWarnings("unchecked")
+            T value = (T) hit.value;
+            return value;
+        }
+
+        T cached = readL2(namespace, key, type);
+        if (cached != null) {
+            count(namespace, "l2_hit");
+            putL1(key, cached, ttl);
+            return cached;
+        }
+
+        count(namespace, "miss");
+        String prefix = namespace.keyPrefix(chainOf(namespace, key));
+        long generation = generation(prefix);
+        T value = Timer.builder("dripswap.cache.load")
+                .tag("namespace", namespace.getMetricName())
+                .register(meterRegistry)
+                .record(loader);
+        if (value != null && generation == generation(prefix)) {
+            writeL2(namespace, key, value, ttl);
+            putL1(key, value, ttl);
+        }
+        return value;
+    }
+
+    private Entry lookupL1(String key) {
+        return properties.isL1Enabled() ? l1.getIfPresent(key) : null;
+    }
+
+    private void putL1(String key, Object value, Duration ttl) {
+        if (!properties.isL1Enabled()) {
+            return;
+        }
+        long maxTtlNanos = Duration.ofSeconds(properties.getL1MaxTtlSeconds()).toNanos();
+        long ttlNanos = Math.min(ttl.toNanos(), maxTtlNanos);
+        if (ttlNanos > 0) {
+            l1.put(key, new Entry(value, ttlNanos));
+        }
+    }
+
+    private <T> T readL2(CacheNamespace namespace, String key, JavaType type) {
+        try {
+            byte[] data = redisTemplate.opsForValue().get(key);
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            CacheCodec codec = codecsByFormat.get(data[0]);
+            if (codec == null) {
+                // 引入格式字节之前写入的纯 JSON 文本
+                return objectMapper.readValue(data, type);
+            }
+            return codec.decode(data, 1, data.length - 1, type);
+        } catch (Exception e) {
+            log.warn("Redis read failed for key: {}, fallback to DB", key, e);
+            return null;
+        }
+    }
+
+    private void writeL2(CacheNamespace namespace, String key, Object value, Duration ttl) {
+        try {
+            byte[] encoded = writeCodec.encode(value);
+            byte[] data = new byte[encoded.length + 1];
+            data[0] = writeCodec.formatId();
+            System.arraycopy(encoded, 0, data, 1, encoded.length);
+            redisTemplate.opsForValue().set(key, data, ttl);
+            meterRegistry.summary("dripswap.cache.l2.bytes", "namespace", namespace.getMetricName(), "codec", writeCodec.name())
+                    .record(data.length);
+            log.debug("Redis SET: {} ({} bytes, {}) for {}s", key, data.length, writeCodec.name(), ttl.toSeconds());
+        } catch (Exception e) {
+            log.warn("Redis write failed for key: {}", key, e);
+        }
+    }
+
+    private void count(CacheNamespace namespace, String result) {
+        meterRegistry.counter("dripswap.cache.gets", "namespace", namespace.getMetricName(), "result", result).increment();
+    }
+
+    /**
+     * 键形如 ds:v2:{chain}:...，取出 chain 段
+     */
+    private static String chainOf(CacheNamespace namespace, String key) {
+        int start = "ds:v2:".length();
+        int end = key.indexOf(':', start);
+        if (!key.startsWith("ds:v2:") || end < 0) {
+            throw new IllegalArgumentException("Cache key " + key + " is not in namespace " + namespace);
+        }
+        return key.substring(start, end);
+    }
+
+    private record Entry(Object value, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
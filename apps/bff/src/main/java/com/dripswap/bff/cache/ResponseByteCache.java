@@ -0,0 +1,70 @@
+package com.dripswap.bff.cache;
+
+import com.dripswap.bff.config.GraphQlRequestCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 序列化后的 GraphQL 响应字节（进程内）
+ *
+ * <p>只缓存 {@code dripswap.graphql.response-cache.operations} 中列出的操作，键为
+ * {@code operationName:文档哈希:变量哈希}。命中时直接写出字节，不执行、不序列化。
+ * {@link CacheInvalidator} 清除某命名空间时，依赖它的操作全部清除（不区分链，变量里的链无法可靠取出）。</p>
+ */
+@Component
+public class ResponseByteCache {
+
+    private final GraphQlRequestCacheProperties.ResponseCache properties;
+    private final Cache<String, CachedResponse> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseByteCache(GraphQlRequestCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getResponseCache();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, this.properties.getMaxEntries()))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, this.properties.getTtlSeconds())))
+                .build();
+        meterRegistry.gauge("dripswap.graphql.response_cache.size", entries, Cache::estimatedSize);
+    }
+
+    public boolean isCacheable(String operationName) {
+        return operationName != null && properties.getOperations().containsKey(operationName);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * 执行前取一次，写入时传回；期间发生过失效则不写入
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, CachedResponse response, long generationAtStart) {
+        if (generationAtStart == generation.get()) {
+            entries.put(key, response);
+        }
+    }
+
+    public void evict(CacheNamespace namespace) {
+        generation.incrementAndGet();
+        for (Map.Entry<String, Set<CacheNamespace>> operation : properties.getOperations().entrySet()) {
+            if (operation.getValue() != null && operation.getValue().contains(namespace)) {
+                String prefix = operation.getKey() + ":";
+                entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            }
+        }
+    }
+
+    public record CachedResponse(String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 事件表（transactions / swaps / mints / burns）分区维护配置
+ */
+@Component
+@ConfigurationProperties(prefix = "dripswap.partitions")
+public class EventPartitionProperties {
+
+    /**
+     * 定时维护间隔（毫秒）：预建未来月份分区，并把 DEFAULT 分区里的行搬进各自的月分区
+     */
+    private long maintainMs = 3_600_000;
+
+    /**
+     * 预建当前月之后的月份数
+     */
+    private int monthsAhead = 2;
+
+    /**
+     * 建分区时等待表锁的上限（毫秒）；超时则本次放弃，行先落入 DEFAULT 分区，由下一次定时维护搬走
+     */
+    private long lockTimeoutMs = 2_000;
+
+    public long getMaintainMs() {
+        return maintainMs;
+    }
+
+    public void setMaintainMs(long maintainMs) {
+        this.maintainMs = maintainMs;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public long getLockTimeoutMs() {
+        return lockTimeoutMs;
+    }
+
+    public void setLockTimeoutMs(long lockTimeoutMs) {
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dripswap.bff.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * graph-node 只读数据源
+ * 用独立类型包装而不是直接暴露 DataSource Bean，避免 Boot 的主数据源自动配置退让
+ */
+public class GraphNodeDataSource implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+
+    public GraphNodeDataSource(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only graph-node database ({@code spring.datasource-graph.*}).
+ *
+ * <p>Kept separate from Boot's {@code DataSourceProperties} so the primary datasource
+ * (JPA, Liquibase) keeps its auto-configuration.
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.datasource-graph")
+public class GraphNodeDataSourceProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName = "org.postgresql.Driver";
+
+    /**
+     * Maximum pooled connections; one per concurrently streamed entity table.
+     */
+    private int maximumPoolSize = 4;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    public void setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+}
@@ -1,7 +1,9 @@
 package com.dripswap.bff.config;
 
+import com.dripswap.bff.gql.CachingDocumentProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.scalars.ExtendedScalars;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +26,14 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.GraphQLBigDecimal);
     }
 
+    /**
+     * Reuse parsed and validated documents across requests.
+     */
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(CachingDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
     /**
      * RestTemplate bean for HTTP requests.
      */
@@ -0,0 +1,92 @@
+package com.dripswap.bff.config;
+
+import com.dripswap.bff.cache.CacheNamespace;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * /graphql 请求级缓存配置：持久化查询（APQ）、解析校验后的文档、序列化后的响应字节
+ */
+@Component
+@ConfigurationProperties(prefix = "dripswap.graphql")
+public class GraphQlRequestCacheProperties {
+
+    /**
+     * 解析 + 校验后的查询文档缓存条数（按查询文本）
+     */
+    private long documentCacheSize = 2_000;
+
+    /**
+     * 持久化查询在 Redis 中的保留时间（小时），实例之间共享
+     */
+    private long persistedQueryTtlHours = 7 * 24;
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    public long getDocumentCacheSize() {
+        return documentCacheSize;
+    }
+
+    public void setDocumentCacheSize(long documentCacheSize) {
+        this.documentCacheSize = documentCacheSize;
+    }
+
+    public long getPersistedQueryTtlHours() {
+        return persistedQueryTtlHours;
+    }
+
+    public void setPersistedQueryTtlHours(long persistedQueryTtlHours) {
+        this.persistedQueryTtlHours = persistedQueryTtlHours;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public static class ResponseCache {
+
+        /**
+         * 响应字节最长保留时间（秒），同步失效之外的兜底
+         */
+        private long ttlSeconds = 60;
+
+        private long maxEntries = 1_000;
+
+        /**
+         * 按 operationName 开启：值为该操作依赖的缓存命名空间，任一命名空间失效时清除其响应
+         */
+        private Map<String, Set<CacheNamespace>> operations = new LinkedHashMap<>();
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Map<String, Set<CacheNamespace>> getOperations() {
+            return operations;
+        }
+
+        public void setOperations(Map<String, Set<CacheNamespace>> operations) {
+            this.operations = operations;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * GraphQL 订阅（onSwap / onCandle）推送配置
+ */
+@Component
+@ConfigurationProperties(prefix = "dripswap.live")
+public class LiveFeedProperties {
+
+    /**
+     * 每个 onSwap 订阅者的缓冲条数，客户端跟不上时丢弃最旧的
+     */
+    private int swapBufferSize = 256;
+
+    /**
+     * 待推送的同步提交事件队列长度，满时丢弃最旧的
+     */
+    private int eventQueueCapacity = 1024;
+
+    /**
+     * 区块时间早于此秒数的 swap 不推送（增量同步停机后追赶的是历史数据）
+     */
+    private long swapMaxAgeSeconds = 900;
+
+    public int getSwapBufferSize() {
+        return swapBufferSize;
+    }
+
+    public void setSwapBufferSize(int swapBufferSize) {
+        this.swapBufferSize = swapBufferSize;
+    }
+
+    public int getEventQueueCapacity() {
+        return eventQueueCapacity;
+    }
+
+    public void setEventQueueCapacity(int eventQueueCapacity) {
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    public long getSwapMaxAgeSeconds() {
+        return swapMaxAgeSeconds;
+    }
+
+    public void setSwapMaxAgeSeconds(long swapMaxAgeSeconds) {
+        this.swapMaxAgeSeconds = swapMaxAgeSeconds;
+    }
+}
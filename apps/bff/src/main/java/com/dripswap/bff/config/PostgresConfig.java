@@ -1,4 +1,29 @@
 package com.dripswap.bff.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Postgres 配置
+ * 主数据源由 Spring Boot 自动配置；这里只声明 graph-node 只读数据源
+ */
+@Configuration
 public class PostgresConfig {
+
+    /**
+     * 连接池懒初始化：未启用 graph-node-db 同步源时不会建立任何连接
+     */
+    @Bean(destroyMethod = "close")
+    public GraphNodeDataSource graphNodeDataSource(GraphNodeDataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("graph-node");
+        dataSource.setJdbcUrl(properties.getUrl());
+        dataSource.setUsername(properties.getUsername());
+        dataSource.setPassword(properties.getPassword());
+        dataSource.setDriverClassName(properties.getDriverClassName());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return new GraphNodeDataSource(dataSource);
+    }
 }
@@ -0,0 +1,77 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * GraphQL 查询缓存（进程内 L1 + Redis L2）配置
+ */
+@Component
+@ConfigurationProperties(prefix = "dripswap.cache")
+public class QueryCacheProperties {
+
+    /**
+     * 是否启用进程内 L1
+     */
+    private boolean l1Enabled = true;
+
+    /**
+     * L1 最大条目数
+     */
+    private long l1MaxSize = 10_000;
+
+    /**
+     * L1 TTL 上限（秒）；条目实际 TTL 取该值与 Redis TTL 的较小者
+     */
+    private long l1MaxTtlSeconds = 120;
+
+    /**
+     * Redis 值编码：smile-lz4（默认）或 json
+     */
+    private String codec = "smile-lz4";
+
+    /**
+     * 同步写入后广播缓存失效的 Redis 频道，所有 BFF 实例订阅
+     */
+    private String invalidationChannel = "ds:v2:cache:invalidate";
+
+    public boolean isL1Enabled() {
+        return l1Enabled;
+    }
+
+    public void setL1Enabled(boolean l1Enabled) {
+        this.l1Enabled = l1Enabled;
+    }
+
+    public long getL1MaxSize() {
+        return l1MaxSize;
+    }
+
+    public void setL1MaxSize(long l1MaxSize) {
+        this.l1MaxSize = l1MaxSize;
+    }
+
+    public long getL1MaxTtlSeconds() {
+        return l1MaxTtlSeconds;
+    }
+
+    public void setL1MaxTtlSeconds(long l1MaxTtlSeconds) {
+        this.l1MaxTtlSeconds = l1MaxTtlSeconds;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subgraph HTTP transport configuration ({@code subgraph.http.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "subgraph.http")
+public class SubgraphHttpProperties {
+
+    /**
+     * TCP/TLS connect timeout in milliseconds.
+     */
+    private long connectTimeoutMs = 5_000;
+
+    /**
+     * Timeout for a single request until response headers arrive, and the longest the response body may go
+     * without delivering a byte before it is aborted, in milliseconds.
+     */
+    private long requestTimeoutMs = 60_000;
+
+    /**
+     * Maximum concurrent requests per graph-node host; further requests wait for a free slot.
+     */
+    private int maxInFlightPerHost = 8;
+
+    /**
+     * Negotiate HTTP/2 (falls back to HTTP/1.1 keep-alive when the server does not support it).
+     */
+    private boolean http2 = true;
+
+    /**
+     * Gzip request bodies. Responses are always requested with {@code Accept-Encoding: gzip}.
+     */
+    private boolean gzipRequests = false;
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    public void setRequestTimeoutMs(long requestTimeoutMs) {
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public int getMaxInFlightPerHost() {
+        return maxInFlightPerHost;
+    }
+
+    public void setMaxInFlightPerHost(int maxInFlightPerHost) {
+        this.maxInFlightPerHost = maxInFlightPerHost;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    public void setGzipRequests(boolean gzipRequests) {
+        this.gzipRequests = gzipRequests;
+    }
+}
@@ -25,6 +25,36 @@ public class SubgraphProperties {
      */
     private int retryCount = 3;
 
+    /**
+     * 全量同步数据源：GraphQL endpoint，或直接读 graph-node 数据库（spring.datasource-graph）
+     */
+    private SyncSource source = SyncSource.GRAPHQL;
+
+    /**
+     * 在响应流上逐行解析（不构建整页 JsonNode 树）
+     */
+    private boolean streaming = true;
+
+    /**
+     * 全量同步流水线中已拉取、未落库的最大页数
+     */
+    private int pipelineDepth = 4;
+
+    /**
+     * 全量同步流水线解析线程数
+     */
+    private int parserThreads = 2;
+
+    /**
+     * 全量同步时并行同步的链数量
+     */
+    private int chainParallelism = 2;
+
+    /**
+     * 单条链内并行同步的实体数量
+     */
+    private int stepParallelism = 4;
+
     /**
      * 多链子图配置
      */
@@ -54,6 +84,54 @@ public class SubgraphProperties {
         this.retryCount = retryCount;
     }
 
+    public SyncSource getSource() {
+        return source;
+    }
+
+    public void setSource(SyncSource source) {
+        this.source = source;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    public void setParserThreads(int parserThreads) {
+        this.parserThreads = parserThreads;
+    }
+
+    public int getChainParallelism() {
+        return chainParallelism;
+    }
+
+    public void setChainParallelism(int chainParallelism) {
+        this.chainParallelism = chainParallelism;
+    }
+
+    public int getStepParallelism() {
+        return stepParallelism;
+    }
+
+    public void setStepParallelism(int stepParallelism) {
+        this.stepParallelism = stepParallelism;
+    }
+
     public List<ChainConfig> getChains() {
         return chains;
     }
@@ -62,6 +140,11 @@ public class SubgraphProperties {
         this.chains = chains;
     }
 
+    public enum SyncSource {
+        GRAPHQL,
+        GRAPH_NODE_DB
+    }
+
     public static class ChainConfig {
         private String id;
         /**
@@ -81,6 +164,14 @@ public class SubgraphProperties {
          * V2 tokens/pricing endpoint (minute-level token series).
          */
         private String endpointV2Tokens;
+        /**
+         * graph-node schema (sgdN) of the V2 deployment, used when source=graph-node-db.
+         */
+        private String graphSchemaV2;
+        /**
+         * graph-node schema (sgdN) of the V2 tokens deployment.
+         */
+        private String graphSchemaV2Tokens;
         private long startBlock = 0L;
 
         public String getId() {
@@ -131,6 +222,22 @@ public class SubgraphProperties {
             this.endpointV2Tokens = endpointV2Tokens;
         }
 
+        public String getGraphSchemaV2() {
+            return graphSchemaV2;
+        }
+
+        public void setGraphSchemaV2(String graphSchemaV2) {
+            this.graphSchemaV2 = graphSchemaV2;
+        }
+
+        public String getGraphSchemaV2Tokens() {
+            return graphSchemaV2Tokens;
+        }
+
+        public void setGraphSchemaV2Tokens(String graphSchemaV2Tokens) {
+            this.graphSchemaV2Tokens = graphSchemaV2Tokens;
+        }
+
         public long getStartBlock() {
             return startBlock;
         }
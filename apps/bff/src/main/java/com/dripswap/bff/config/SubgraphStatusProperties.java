@@ -0,0 +1,38 @@
+package com.dripswap.bff.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 子图状态轮询与数据新鲜度配置（subgraphStatus 查询和 syncFreshness 健康检查）
+ */
+@Component
+@ConfigurationProperties(prefix = "subgraph.status")
+public class SubgraphStatusProperties {
+
+    /**
+     * 轮询各 endpoint {@code _meta} 的间隔（毫秒）
+     */
+    private long pollMs = 15_000;
+
+    /**
+     * 本地水位落后子图头部的最大秒数，超过即视为数据过旧；需大于增量同步最长退避间隔
+     */
+    private long maxLagSeconds = 900;
+
+    public long getPollMs() {
+        return pollMs;
+    }
+
+    public void setPollMs(long pollMs) {
+        this.pollMs = pollMs;
+    }
+
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.dripswap.bff.controller;
 
+import com.dripswap.bff.sync.SubgraphDeltaSyncService;
 import com.dripswap.bff.sync.SubgraphSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ import java.util.Map;
 public class SyncController {
     
     private final SubgraphSyncService subgraphSyncService;
+    private final SubgraphDeltaSyncService subgraphDeltaSyncService;
     
     /**
      * 手动触发全量同步
@@ -60,6 +62,26 @@ public class SyncController {
         }
     }
     
+    /**
+     * 唤醒指定链的增量同步（例如监听到新区块）
+     * 
+     * POST /api/sync/delta/signal?chainId=sepolia
+     * 
+     * @return 处理结果
+     */
+    @PostMapping("/delta/signal")
+    public ResponseEntity<Map<String, Object>> signalDeltaSync(@RequestParam String chainId) {
+        subgraphDeltaSyncService.onExternalSignal(chainId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("deltaEnabled", subgraphDeltaSyncService.isEnabled());
+        response.put("chainId", chainId);
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * 获取同步状态
      * 
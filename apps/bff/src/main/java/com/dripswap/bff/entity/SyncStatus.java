@@ -34,12 +34,21 @@ public class SyncStatus {
     @Column(name = "last_synced_id")
     private String lastSyncedId;
 
+    @Column(name = "scan_head_block")
+    private Long scanHeadBlock;
+
+    @Column(name = "scan_head_timestamp")
+    private Integer scanHeadTimestamp;
+
     @Column(name = "sync_start_time")
     private LocalDateTime syncStartTime;
 
     @Column(name = "sync_end_time")
     private LocalDateTime syncEndTime;
 
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
     @Column(name = "sync_status", nullable = false)
     private String syncStatus = "pending";
 
@@ -48,25 +48,6 @@ public class Token {
     @Column(name = "derived_eth", nullable = false)
     private BigDecimal derivedEth = BigDecimal.ZERO;
     
-    // V2-tokens archive fields
-    @Column(name = "last_minute_archived", nullable = false)
-    private Long lastMinuteArchived = 0L;
-    
-    @Column(name = "last_hour_archived", nullable = false)
-    private Long lastHourArchived = 0L;
-    
-    @Column(name = "minute_array", nullable = false, columnDefinition = "TEXT")
-    private String minuteArray = "[]";
-    
-    @Column(name = "hour_array", nullable = false, columnDefinition = "TEXT")
-    private String hourArray = "[]";
-    
-    @Column(name = "last_minute_recorded", nullable = false)
-    private Long lastMinuteRecorded = 0L;
-    
-    @Column(name = "last_hour_recorded", nullable = false)
-    private Long lastHourRecorded = 0L;
-    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,61 @@
+package com.dripswap.bff.entity;
+
+import com.dripswap.bff.util.RollingWindowCodec;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 子图 v2-tokens 的 Token 归档游标和滚动窗口
+ * 从 tokens 表拆出，列表查询不再读写这些字段；窗口以 {@link RollingWindowCodec} 编码为 bytea，由同步批量写入
+ */
+@Data
+@Entity
+@IdClass(ChainEntityId.class)
+@Table(name = "token_rolling_windows")
+public class TokenRollingWindow {
+
+    @Id
+    private String id; // Token address (lowercase)
+
+    @Id
+    @Column(name = "chain_id", nullable = false)
+    private String chainId;
+
+    @Column(name = "last_minute_archived", nullable = false)
+    private Long lastMinuteArchived = 0L;
+
+    @Column(name = "last_hour_archived", nullable = false)
+    private Long lastHourArchived = 0L;
+
+    @Column(name = "last_minute_recorded", nullable = false)
+    private Long lastMinuteRecorded = 0L;
+
+    @Column(name = "last_hour_recorded", nullable = false)
+    private Long lastHourRecorded = 0L;
+
+    @Column(name = "minute_window", nullable = false)
+    private byte[] minuteWindow = RollingWindowCodec.empty();
+
+    @Column(name = "hour_window", nullable = false)
+    private byte[] hourWindow = RollingWindowCodec.empty();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public int[] minuteIndexes() {
+        return RollingWindowCodec.decode(minuteWindow);
+    }
+
+    public int[] hourIndexes() {
+        return RollingWindowCodec.decode(hourWindow);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dripswap.bff.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Explore 页 token 指标读模型
+ * 由同步在写入 tokens / token_hour_data 时按 token 增量重算、bundles 同步完成后整链重算，不通过 JPA 写入
+ */
+@Data
+@Entity
+@IdClass(ChainEntityId.class)
+@Table(name = "token_stats")
+public class TokenStats {
+
+    @Id
+    @Column(name = "token_id")
+    private String id; // Token address (lowercase)
+
+    @Id
+    @Column(name = "chain_id", nullable = false)
+    private String chainId;
+
+    @Column(name = "price_usd")
+    private BigDecimal priceUsd;
+
+    @Column(name = "fdv_usd")
+    private BigDecimal fdvUsd;
+
+    /**
+     * 最新一条 token_hour_data 的小时起点，读取时据此判断窗口指标是否过期
+     */
+    @Column(name = "latest_hour_start")
+    private Integer latestHourStart;
+
+    @Column(name = "change_1h")
+    private BigDecimal change1h;
+
+    @Column(name = "change_1d")
+    private BigDecimal change1d;
+
+    @Column(name = "volume_24h_usd")
+    private BigDecimal volume24hUsd;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.config.GraphQlRequestCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 按查询文本缓存解析 + 校验后的文档，同一个查询（包括 APQ 还原出的）只解析校验一次
+ *
+ * <p>校验失败的结果同样缓存，错误查询不会反复消耗解析。schema 只在启动时构建，缓存无需随 schema 失效。</p>
+ */
+@Component
+public class CachingDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final MeterRegistry meterRegistry;
+
+    public CachingDocumentProvider(GraphQlRequestCacheProperties properties, MeterRegistry meterRegistry) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, properties.getDocumentCacheSize()))
+                .build();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("dripswap.graphql.documents.size", documents, Cache::estimatedSize);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry != null) {
+            count("hit");
+            return CompletableFuture.completedFuture(entry);
+        }
+        count("miss");
+        return CompletableFuture.completedFuture(documents.get(query, q -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    /**
+     * graphql-java 21 仍把同步版本声明为抽象方法，只转调 {@link #getDocumentAsync}；
+     * 不加 {@code @Override}，同步版本移除后这里照样能编译
+     */
+    @Deprecated
+    public PreparsedDocumentEntry getDocument(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("dripswap.graphql.documents", "result", result).increment();
+    }
+}
@@ -0,0 +1,69 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.entity.TokenStats;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * exploreTokens 排序字段，对应 token_stats 的列（均为降序、空值在后）
+ *
+ * <p>窗口类指标在 token 最新一小时过旧时由 {@link ExploreTokenRowFieldResolver} 返回 null，排序按同样的时效判断，过期的值排在最后。</p>
+ */
+public enum ExploreTokenOrderBy {
+    PRICE_USD("priceUsd", TokenStats::getPriceUsd, null),
+    FDV_USD("fdvUsd", TokenStats::getFdvUsd, null),
+    // 只在最新一小时仍是当前小时时有效
+    CHANGE_1H("change1h", TokenStats::getChange1h, now -> now / 3600 * 3600),
+    CHANGE_1D("change1d", TokenStats::getChange1d, ExploreTokenOrderBy::windowFreshSince),
+    VOLUME_24H_USD("volume24hUsd", TokenStats::getVolume24hUsd, ExploreTokenOrderBy::windowFreshSince);
+
+    /**
+     * 滚动窗口指标在 token 最新一小时超过两天后过期
+     */
+    private static final long WINDOW_MAX_AGE_SECONDS = 2 * 86400L;
+
+    private final String property;
+    private final Function<TokenStats, BigDecimal> metric;
+    private final LongUnaryOperator freshSince;
+
+    ExploreTokenOrderBy(String property, Function<TokenStats, BigDecimal> metric, LongUnaryOperator freshSince) {
+        this.property = property;
+        this.metric = metric;
+        this.freshSince = freshSince;
+    }
+
+    /**
+     * TokenStats 实体属性名
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * 指标有效所需的最小 latest_hour_start（unix 秒）；null 表示不过期
+     */
+    public Integer freshSince(long nowSeconds) {
+        return freshSince == null ? null : (int) freshSince.applyAsLong(nowSeconds);
+    }
+
+    public boolean isFresh(TokenStats stats, long nowSeconds) {
+        if (stats == null) {
+            return false;
+        }
+        Integer since = freshSince(nowSeconds);
+        return since == null || (stats.getLatestHourStart() != null && stats.getLatestHourStart() >= since);
+    }
+
+    /**
+     * 指标值，过期时为 null
+     */
+    public BigDecimal valueOf(TokenStats stats, long nowSeconds) {
+        return isFresh(stats, nowSeconds) ? metric.apply(stats) : null;
+    }
+
+    private static long windowFreshSince(long nowSeconds) {
+        return nowSeconds - WINDOW_MAX_AGE_SECONDS;
+    }
+}
@@ -4,23 +4,36 @@ import com.dripswap.bff.entity.Bundle;
 import com.dripswap.bff.entity.ChainEntityId;
 import com.dripswap.bff.entity.TokenDayData;
 import com.dripswap.bff.entity.TokenHourData;
+import com.dripswap.bff.entity.TokenStats;
 import com.dripswap.bff.gql.payload.ExploreTokenRowPayload;
 import com.dripswap.bff.repository.BundleRepository;
 import com.dripswap.bff.repository.TokenDayDataRepository;
 import com.dripswap.bff.repository.TokenHourDataRepository;
+import com.dripswap.bff.repository.TokenStatsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * GraphQL field resolver for ExploreTokenRow type.
  * Handles lazy loading of associated entities (Bundle, TokenHourData, TokenDayData)
  * and computed fields (priceUsd, change1h, change1d, fdvUsd, volume24hUsd).
+ *
+ * <p>Every field is a {@link BatchMapping}: the rows of one request are resolved together,
+ * so each requested field costs one query per chain regardless of the page size.
+ * Computed metrics are read from the token_stats read model maintained by sync.</p>
  */
 @Slf4j
 @Controller
@@ -30,208 +43,177 @@ public class ExploreTokenRowFieldResolver {
     private final BundleRepository bundleRepository;
     private final TokenHourDataRepository tokenHourDataRepository;
     private final TokenDayDataRepository tokenDayDataRepository;
+    private final TokenStatsRepository tokenStatsRepository;
 
     /**
-     * Compute priceUsd = derivedETH * bundle.ethPrice.
-     * This is GraphQL computed field - only calculated when requested.
+     * priceUsd = derivedETH * bundle.ethPrice, precomputed in token_stats.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "priceUsd")
-    public BigDecimal priceUsd(ExploreTokenRowPayload tokenRow) {
-        if (tokenRow.getDerivedETH() == null) {
-            return null;
-        }
-        Bundle bundle = bundle(tokenRow);
-        if (bundle == null || bundle.getEthPrice() == null) {
-            return null;
-        }
-        return tokenRow.getDerivedETH().multiply(bundle.getEthPrice());
+    @BatchMapping(typeName = "ExploreTokenRow", field = "priceUsd")
+    public Map<ExploreTokenRowPayload, BigDecimal> priceUsd(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenStats> stats = statsByToken(tokenRows);
+        return mapRows(tokenRows, row -> {
+            TokenStats tokenStats = stats.get(TokenKey.of(row));
+            return tokenStats == null ? null : tokenStats.getPriceUsd();
+        });
     }
-    
+
     /**
-     * Compute 1h price change percentage.
-     * Uses currentHourData (open vs close).
+     * 1h price change percentage (open vs close of the latest hour).
+     * Only returned while that hour is still the CURRENT hour.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "change1h")
-    public BigDecimal change1h(ExploreTokenRowPayload tokenRow) {
-        TokenHourData hourData = currentHourData(tokenRow);
-        if (hourData == null || hourData.getOpen() == null || hourData.getClose() == null) {
-            return null;
-        }
-        BigDecimal open = hourData.getOpen();
-        BigDecimal close = hourData.getClose();
-        if (open.compareTo(BigDecimal.ZERO) == 0) {
-            return null;
-        }
-        // (close - open) / open * 100
-        return close.subtract(open)
-                .divide(open, 8, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("100"));
+    @BatchMapping(typeName = "ExploreTokenRow", field = "change1h")
+    public Map<ExploreTokenRowPayload, BigDecimal> change1h(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenStats> stats = statsByToken(tokenRows);
+        long now = System.currentTimeMillis() / 1000;
+        return mapRows(tokenRows, row -> ExploreTokenOrderBy.CHANGE_1H.valueOf(stats.get(TokenKey.of(row)), now));
     }
-    
+
     /**
-     * Compute 1d price change percentage.
-     * Uses rolling 24h window based on token_hour_data close price.
+     * 1d price change percentage over the rolling 24h window of token_hour_data close prices.
+     * Dropped once the token's latest hour is more than two days old.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "change1d")
-    public BigDecimal change1d(ExploreTokenRowPayload tokenRow) {
-        TokenHourData latestHour = tokenHourDataRepository
-                .findFirstByChainIdAndTokenIdOrderByPeriodStartUnixDesc(tokenRow.getChainId(), tokenRow.getId())
-                .orElse(null);
-
-        if (latestHour == null || latestHour.getPeriodStartUnix() == null) {
-            return null;
-        }
-
-        int latestHourStart = latestHour.getPeriodStartUnix();
-        long nowSec = System.currentTimeMillis() / 1000;
-        if (latestHourStart < (int) (nowSec - 2 * 86400L)) {
-            return null;
-        }
-
-        TokenHourData prevHour = tokenHourDataRepository
-                .findFirstByChainIdAndTokenIdAndPeriodStartUnixLessThanEqualOrderByPeriodStartUnixDesc(
-                        tokenRow.getChainId(),
-                        tokenRow.getId(),
-                        latestHourStart - 86400
-                )
-                .orElse(null);
-
-        if (prevHour == null || prevHour.getClose() == null || latestHour.getClose() == null) {
-            return null;
-        }
-
-        BigDecimal base = prevHour.getClose();
-        BigDecimal current = latestHour.getClose();
-        if (base.compareTo(BigDecimal.ZERO) == 0) {
-            return null;
-        }
-
-        return current.subtract(base)
-                .divide(base, 8, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("100"));
+    @BatchMapping(typeName = "ExploreTokenRow", field = "change1d")
+    public Map<ExploreTokenRowPayload, BigDecimal> change1d(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenStats> stats = statsByToken(tokenRows);
+        long now = System.currentTimeMillis() / 1000;
+        return mapRows(tokenRows, row -> ExploreTokenOrderBy.CHANGE_1D.valueOf(stats.get(TokenKey.of(row)), now));
     }
-    
+
     /**
-     * Compute Fully Diluted Valuation (FDV) in USD.
-     * FDV = (totalSupply / 10^decimals) * priceUsd
+     * Fully Diluted Valuation in USD: (totalSupply / 10^decimals) * priceUsd.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "fdvUsd")
-    public BigDecimal fdvUsd(ExploreTokenRowPayload tokenRow) {
-        if (tokenRow.getTotalSupply() == null || tokenRow.getDecimals() == null) {
-            return null;
-        }
-        BigDecimal priceUsd = priceUsd(tokenRow);
-        if (priceUsd == null || priceUsd.compareTo(BigDecimal.ZERO) == 0) {
-            return null;
-        }
-        // scaledSupply = totalSupply / 10^decimals
-        BigDecimal divisor = BigDecimal.TEN.pow(tokenRow.getDecimals());
-        BigDecimal scaledSupply = tokenRow.getTotalSupply().divide(divisor, 8, RoundingMode.HALF_UP);
-        return scaledSupply.multiply(priceUsd);
+    @BatchMapping(typeName = "ExploreTokenRow", field = "fdvUsd")
+    public Map<ExploreTokenRowPayload, BigDecimal> fdvUsd(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenStats> stats = statsByToken(tokenRows);
+        return mapRows(tokenRows, row -> {
+            TokenStats tokenStats = stats.get(TokenKey.of(row));
+            return tokenStats == null ? null : tokenStats.getFdvUsd();
+        });
     }
-    
+
     /**
-     * Compute 24h volume in USD.
-     * Uses rolling 24h sum based on token_hour_data.volumeUsd.
+     * 24h volume in USD, summed over the rolling 24h window of token_hour_data.
+     * Dropped once the token's latest hour is more than two days old.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "volume24hUsd")
-    public BigDecimal volume24hUsd(ExploreTokenRowPayload tokenRow) {
-        TokenHourData latestHour = tokenHourDataRepository
-                .findFirstByChainIdAndTokenIdOrderByPeriodStartUnixDesc(tokenRow.getChainId(), tokenRow.getId())
-                .orElse(null);
-
-        if (latestHour == null || latestHour.getPeriodStartUnix() == null) {
-            return null;
-        }
-
-        int latestHourStart = latestHour.getPeriodStartUnix();
-        long nowSec = System.currentTimeMillis() / 1000;
-        if (latestHourStart < (int) (nowSec - 2 * 86400L)) {
-            return null;
-        }
-
-        List<TokenHourData> last24h = tokenHourDataRepository
-                .findByChainIdAndTokenIdAndPeriodStartUnixBetweenOrderByPeriodStartUnixAsc(
-                        tokenRow.getChainId(),
-                        tokenRow.getId(),
-                        latestHourStart - 86400,
-                        latestHourStart
-                );
-
-        BigDecimal sum = BigDecimal.ZERO;
-        for (TokenHourData row : last24h) {
-            sum = sum.add(row.getVolumeUsd() == null ? BigDecimal.ZERO : row.getVolumeUsd());
-        }
-        return sum;
+    @BatchMapping(typeName = "ExploreTokenRow", field = "volume24hUsd")
+    public Map<ExploreTokenRowPayload, BigDecimal> volume24hUsd(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenStats> stats = statsByToken(tokenRows);
+        long now = System.currentTimeMillis() / 1000;
+        return mapRows(tokenRows, row -> ExploreTokenOrderBy.VOLUME_24H_USD.valueOf(stats.get(TokenKey.of(row)), now));
     }
 
     /**
      * Resolve bundle field - provides ETH price for price calculation.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "bundle")
-    public Bundle bundle(ExploreTokenRowPayload tokenRow) {
-        ChainEntityId id = new ChainEntityId();
-        id.setId("1");
-        id.setChainId(tokenRow.getChainId());
-        return bundleRepository.findById(id).orElse(null);
+    @BatchMapping(typeName = "ExploreTokenRow", field = "bundle")
+    public Map<ExploreTokenRowPayload, Bundle> bundle(List<ExploreTokenRowPayload> tokenRows) {
+        Map<String, Bundle> bundles = bundlesByChain(tokenRows);
+        return mapRows(tokenRows, row -> bundles.get(row.getChainId()));
     }
 
     /**
      * Resolve currentHourData field - provides data for 1h change calculation.
      * Only returns data if there's activity in the CURRENT hour.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "currentHourData")
-    public TokenHourData currentHourData(ExploreTokenRowPayload tokenRow) {
-        int currentTimestamp = (int) (System.currentTimeMillis() / 1000);
-        int currentHourIndex = currentTimestamp / 3600;
-        int currentHourStart = currentHourIndex * 3600;
-
-        return tokenHourDataRepository
-                .findByChainIdAndTokenIdAndPeriodStartUnix(
-                        tokenRow.getChainId(),
-                        tokenRow.getId(),
-                        currentHourStart
-                )
-                .orElse(null);
+    @BatchMapping(typeName = "ExploreTokenRow", field = "currentHourData")
+    public Map<ExploreTokenRowPayload, TokenHourData> currentHourData(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenHourData> hours = currentHourDataByToken(tokenRows);
+        return mapRows(tokenRows, row -> hours.get(TokenKey.of(row)));
     }
 
     /**
      * Resolve latestDayData field - provides latest day data for 1d change calculation.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "latestDayData")
-    public TokenDayData latestDayData(ExploreTokenRowPayload tokenRow) {
-        return tokenDayDataRepository
-                .findFirstByChainIdAndTokenIdOrderByDateDesc(
-                        tokenRow.getChainId(),
-                        tokenRow.getId()
-                )
-                .orElse(null);
+    @BatchMapping(typeName = "ExploreTokenRow", field = "latestDayData")
+    public Map<ExploreTokenRowPayload, TokenDayData> latestDayData(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenDayData> days = loadByChain(tokenRows, tokenDayDataRepository::findLatestByChainIdAndTokenIdIn,
+                TokenDayData::getChainId, TokenDayData::getTokenId);
+        return mapRows(tokenRows, row -> days.get(TokenKey.of(row)));
+    }
+
+    /**
+     * Resolve previousDayData field - provides previous day data (24h before latest) for 1d change calculation.
+     */
+    @BatchMapping(typeName = "ExploreTokenRow", field = "previousDayData")
+    public Map<ExploreTokenRowPayload, TokenDayData> previousDayData(List<ExploreTokenRowPayload> tokenRows) {
+        Map<TokenKey, TokenDayData> days = loadByChain(tokenRows, tokenDayDataRepository::findPreviousByChainIdAndTokenIdIn,
+                TokenDayData::getChainId, TokenDayData::getTokenId);
+        return mapRows(tokenRows, row -> days.get(TokenKey.of(row)));
+    }
+
+    private Map<TokenKey, TokenStats> statsByToken(List<ExploreTokenRowPayload> tokenRows) {
+        return loadByChain(tokenRows, tokenStatsRepository::findByChainIdAndIdIn, TokenStats::getChainId, TokenStats::getId);
+    }
+
+    private Map<String, Bundle> bundlesByChain(List<ExploreTokenRowPayload> tokenRows) {
+        List<ChainEntityId> ids = new ArrayList<>();
+        for (String chainId : tokenIdsByChain(tokenRows).keySet()) {
+            ChainEntityId id = new ChainEntityId();
+            id.setId("1");
+            id.setChainId(chainId);
+            ids.add(id);
+        }
+        Map<String, Bundle> bundles = new HashMap<>();
+        for (Bundle bundle : bundleRepository.findAllById(ids)) {
+            bundles.put(bundle.getChainId(), bundle);
+        }
+        return bundles;
+    }
+
+    private Map<TokenKey, TokenHourData> currentHourDataByToken(List<ExploreTokenRowPayload> tokenRows) {
+        int currentHourStart = (int) (System.currentTimeMillis() / 1000 / 3600 * 3600);
+        return loadByChain(
+                tokenRows,
+                (chainId, tokenIds) -> tokenHourDataRepository.findByChainIdAndPeriodStartUnixAndTokenIdIn(chainId, currentHourStart, tokenIds),
+                TokenHourData::getChainId,
+                TokenHourData::getTokenId
+        );
+    }
+
+    private static <T> Map<TokenKey, T> loadByChain(
+            List<ExploreTokenRowPayload> tokenRows,
+            BiFunction<String, Set<String>, List<T>> query,
+            Function<T, String> chainId,
+            Function<T, String> tokenId
+    ) {
+        Map<TokenKey, T> loaded = new HashMap<>();
+        tokenIdsByChain(tokenRows).forEach((chain, tokenIds) -> {
+            for (T row : query.apply(chain, tokenIds)) {
+                loaded.put(new TokenKey(chainId.apply(row), tokenId.apply(row)), row);
+            }
+        });
+        return loaded;
+    }
+
+    private static Map<String, Set<String>> tokenIdsByChain(List<ExploreTokenRowPayload> tokenRows) {
+        Map<String, Set<String>> byChain = new LinkedHashMap<>();
+        for (ExploreTokenRowPayload row : tokenRows) {
+            byChain.computeIfAbsent(row.getChainId(), k -> new LinkedHashSet<>()).add(row.getId());
+        }
+        return byChain;
     }
 
     /**
-     * Resolve previousDayData field - provides previous day data for 1d change calculation.
+     * Rows without a value are left out of the map and resolve to null.
      */
-    @SchemaMapping(typeName = "ExploreTokenRow", field = "previousDayData")
-    public TokenDayData previousDayData(ExploreTokenRowPayload tokenRow) {
-        // First get latest day data
-        TokenDayData latestDay = tokenDayDataRepository
-                .findFirstByChainIdAndTokenIdOrderByDateDesc(
-                        tokenRow.getChainId(),
-                        tokenRow.getId()
-                )
-                .orElse(null);
-
-        if (latestDay == null) {
-            return null;
+    private static <V> Map<ExploreTokenRowPayload, V> mapRows(
+            List<ExploreTokenRowPayload> tokenRows,
+            Function<ExploreTokenRowPayload, V> resolver
+    ) {
+        Map<ExploreTokenRowPayload, V> values = new HashMap<>();
+        for (ExploreTokenRowPayload row : tokenRows) {
+            V value = resolver.apply(row);
+            if (value != null) {
+                values.put(row, value);
+            }
         }
+        return values;
+    }
 
-        // Then get previous day (24h before latest)
-        return tokenDayDataRepository
-                .findFirstByChainIdAndTokenIdAndDateLessThanEqualOrderByDateDesc(
-                        tokenRow.getChainId(),
-                        tokenRow.getId(),
-                        latestDay.getDate() - 86400
-                )
-                .orElse(null);
+    private record TokenKey(String chainId, String tokenId) {
+
+        static TokenKey of(ExploreTokenRowPayload row) {
+            return new TokenKey(row.getChainId(), row.getId());
+        }
     }
 }
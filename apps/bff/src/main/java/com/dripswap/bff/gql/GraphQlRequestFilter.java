@@ -0,0 +1,270 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.cache.ResponseByteCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * /graphql 入口：持久化查询（APQ）还原 + 响应字节缓存
+ *
+ * <p>APQ 按 Apollo 协议处理 {@code extensions.persistedQuery.sha256Hash}：只带哈希时从 {@link PersistedQueryStore}
+ * 取回查询文本补进请求体，未注册则返回 {@code PersistedQueryNotFound}；哈希和全文同时带上时校验后注册。
+ * 之后解析校验由 {@link CachingDocumentProvider} 按查询文本缓存。</p>
+ *
+ * <p>{@link ResponseByteCache} 开启的操作按 (文档哈希, 变量) 缓存序列化好的响应，命中时直接写出字节；
+ * 有 errors 的响应不缓存。GraphQL 处理是异步的，写缓存放在最后一次 dispatch（同 ShallowEtagHeaderFilter）。</p>
+ */
+@Component
+public class GraphQlRequestFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_KEY_ATTRIBUTE = GraphQlRequestFilter.class.getName() + ".cacheKey";
+    private static final String GENERATION_ATTRIBUTE = GraphQlRequestFilter.class.getName() + ".generation";
+
+    private final PersistedQueryStore persistedQueryStore;
+    private final ResponseByteCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final MeterRegistry meterRegistry;
+    private final String graphqlPath;
+
+    public GraphQlRequestFilter(
+            PersistedQueryStore persistedQueryStore,
+            ResponseByteCache responseCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${spring.graphql.path:/graphql}") String graphqlPath
+    ) {
+        this.persistedQueryStore = persistedQueryStore;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.meterRegistry = meterRegistry;
+        this.graphqlPath = graphqlPath;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !graphqlPath.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                storeIfComplete(request, response);
+            }
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        JsonNode parsed = readBody(body);
+        if (!(parsed instanceof ObjectNode payload)) {
+            // 让 GraphQL handler 自己报告格式错误
+            filterChain.doFilter(new BodyRequest(request, body), response);
+            return;
+        }
+
+        String query = text(payload.get("query"));
+        String hash = text(payload.path("extensions").path("persistedQuery").get("sha256Hash"));
+        if (hash != null) {
+            if (query == null) {
+                query = persistedQueryStore.find(hash);
+                if (query == null) {
+                    countApq("not_found");
+                    writeError(response, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND", HttpStatus.OK);
+                    return;
+                }
+                countApq("hit");
+                payload.put("query", query);
+                body = objectMapper.writeValueAsBytes(payload);
+            } else if (!hash.equalsIgnoreCase(PersistedQueryStore.sha256Hex(query))) {
+                writeError(response, "provided sha does not match query", "INTERNAL_SERVER_ERROR", HttpStatus.BAD_REQUEST);
+                return;
+            } else {
+                countApq("registered");
+                persistedQueryStore.register(hash.toLowerCase(Locale.ROOT), query);
+            }
+        }
+
+        String operationName = text(payload.get("operationName"));
+        if (query == null || !responseCache.isCacheable(operationName)) {
+            filterChain.doFilter(new BodyRequest(request, body), response);
+            return;
+        }
+
+        String key = operationName + ":" + (hash != null ? hash.toLowerCase(Locale.ROOT) : PersistedQueryStore.sha256Hex(query))
+                + ":" + PersistedQueryStore.sha256Hex(canonicalMapper.writeValueAsString(
+                        canonicalMapper.convertValue(payload.path("variables"), Object.class)));
+        ResponseByteCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            countResponseCache(operationName, "hit");
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.setHeader("X-Response-Cache", "HIT");
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+        countResponseCache(operationName, "miss");
+
+        request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+        request.setAttribute(GENERATION_ATTRIBUTE, responseCache.generation());
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new BodyRequest(request, body), wrapped);
+        } finally {
+            storeIfComplete(request, wrapped);
+        }
+    }
+
+    private void storeIfComplete(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        ContentCachingResponseWrapper wrapped = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        String key = (String) request.getAttribute(CACHE_KEY_ATTRIBUTE);
+        if (wrapped == null || key == null) {
+            return;
+        }
+        byte[] bytes = wrapped.getContentAsByteArray();
+        if (wrapped.getStatus() == HttpStatus.OK.value() && bytes.length > 0 && !hasErrors(bytes)) {
+            String contentType = wrapped.getContentType() != null ? wrapped.getContentType() : MediaType.APPLICATION_JSON_VALUE;
+            responseCache.put(key, new ResponseByteCache.CachedResponse(contentType, bytes),
+                    (Long) request.getAttribute(GENERATION_ATTRIBUTE));
+        }
+        request.removeAttribute(CACHE_KEY_ATTRIBUTE);
+        wrapped.copyBodyToResponse();
+    }
+
+    private boolean hasErrors(byte[] bytes) {
+        try {
+            return objectMapper.readTree(bytes).has("errors");
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private JsonNode readBody(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeError(HttpServletResponse response, String message, String code, HttpStatus status) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(Map.of(
+                "errors", List.of(Map.of("message", message, "extensions", Map.of("code", code)))));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private void countApq(String result) {
+        meterRegistry.counter("dripswap.graphql.apq", "result", result).increment();
+    }
+
+    private void countResponseCache(String operationName, String result) {
+        meterRegistry.counter("dripswap.graphql.response_cache", "operation", operationName, "result", result).increment();
+    }
+
+    private static String text(JsonNode node) {
+        return node != null && node.isTextual() && !node.asText().isBlank() ? node.asText() : null;
+    }
+
+    /**
+     * 请求体已被读取（并可能补上 query），后续 handler 从这里重新读
+     */
+    private static final class BodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
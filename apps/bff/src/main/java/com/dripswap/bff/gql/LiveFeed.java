@@ -0,0 +1,239 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.config.LiveFeedProperties;
+import com.dripswap.bff.entity.Pair;
+import com.dripswap.bff.entity.Swap;
+import com.dripswap.bff.gql.payload.TokenOhlcPayload;
+import com.dripswap.bff.gql.payload.TransactionPayload;
+import com.dripswap.bff.repository.PairRepository;
+import com.dripswap.bff.sync.CandleSourceCommittedEvent;
+import com.dripswap.bff.sync.SwapsCommittedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 同步提交 → GraphQL 订阅的推送中枢
+ *
+ * <p>每个主题（链 + token [+ 周期]）一个多播 sink，最后一个订阅者离开时移除。同步事务提交后事件交给单独的推送线程，
+ * 不拖慢同步；只有存在订阅者的主题才查库组装载荷，同一主题的订阅者共享一次计算。</p>
+ *
+ * <p>慢客户端：onSwap 每个订阅者有 {@code dripswap.live.swap-buffer-size} 条缓冲，满了丢最旧的；
+ * onCandle 只保留最新一根（conflation），客户端总能拿到当前价格。</p>
+ *
+ * <p>事件只来自增量同步；增量同步停机后追赶时也会写入旧数据，所以早于 {@code dripswap.live.swap-max-age-seconds} 的 swap
+ * 和早于上一根的 K 线不推送。</p>
+ */
+@Slf4j
+@Component
+public class LiveFeed {
+
+    private final QueryResolver queryResolver;
+    private final TokenCandleLoader tokenCandleLoader;
+    private final PairRepository pairRepository;
+    private final LiveFeedProperties properties;
+    private final ExecutorService dispatcher;
+
+    private final ConcurrentMap<SwapTopic, Topic<TransactionPayload>> swapTopics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CandleTopic, Topic<TokenOhlcPayload>> candleTopics = new ConcurrentHashMap<>();
+
+    public LiveFeed(
+            QueryResolver queryResolver,
+            TokenCandleLoader tokenCandleLoader,
+            PairRepository pairRepository,
+            LiveFeedProperties properties
+    ) {
+        this.queryResolver = queryResolver;
+        this.tokenCandleLoader = tokenCandleLoader;
+        this.pairRepository = pairRepository;
+        this.properties = properties;
+        this.dispatcher = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getEventQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "live-feed");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardOldestPolicy()
+        );
+    }
+
+    /**
+     * @param tokenId 为 null 时订阅整条链的 swaps
+     */
+    public Flux<TransactionPayload> swaps(String chainId, String tokenId) {
+        int bufferSize = Math.max(1, properties.getSwapBufferSize());
+        return subscribe(swapTopics, new SwapTopic(chainId, tokenId),
+                flux -> flux.onBackpressureBuffer(bufferSize, dropped -> { }, BufferOverflowStrategy.DROP_OLDEST));
+    }
+
+    public Flux<TokenOhlcPayload> candles(String chainId, String tokenId, TokenChartInterval interval) {
+        return subscribe(candleTopics, new CandleTopic(chainId, tokenId, interval), Flux::onBackpressureLatest);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSwapsCommitted(SwapsCommittedEvent event) {
+        if (hasSwapSubscribers(event.chainId())) {
+            dispatcher.execute(() -> publishSwaps(event));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandleSourceCommitted(CandleSourceCommittedEvent event) {
+        if (hasCandleSubscribers(event)) {
+            dispatcher.execute(() -> publishCandles(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void publishSwaps(SwapsCommittedEvent event) {
+        try {
+            String chainId = event.chainId();
+            long oldest = System.currentTimeMillis() / 1000 - Math.max(0, properties.getSwapMaxAgeSeconds());
+            List<Swap> swaps = event.swaps().stream()
+                    .filter(swap -> swap.getTimestamp() != null && swap.getTimestamp() >= oldest)
+                    .sorted(Comparator.comparing(Swap::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(Swap::getLogIndex, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList();
+            if (swaps.isEmpty()) {
+                return;
+            }
+            List<TransactionPayload> payloads = queryResolver.swapPayloads(chainId, swaps);
+
+            Topic<TransactionPayload> chainTopic = swapTopics.get(new SwapTopic(chainId, null));
+            if (chainTopic != null) {
+                payloads.forEach(chainTopic::emit);
+            }
+
+            boolean tokenScoped = swapTopics.keySet().stream().anyMatch(t -> t.chainId().equals(chainId) && t.tokenId() != null);
+            if (!tokenScoped) {
+                return;
+            }
+            List<String> pairIds = swaps.stream().map(Swap::getPairId).filter(Objects::nonNull).distinct().toList();
+            Map<String, Pair> pairs = pairRepository.findByChainIdAndIdIn(chainId, pairIds).stream()
+                    .collect(Collectors.toMap(Pair::getId, Function.identity(), (a, b) -> a));
+            for (int i = 0; i < swaps.size(); i++) {
+                Pair pair = pairs.get(swaps.get(i).getPairId());
+                if (pair == null) {
+                    continue;
+                }
+                emitSwap(new SwapTopic(chainId, pair.getToken0Id()), payloads.get(i));
+                if (!Objects.equals(pair.getToken0Id(), pair.getToken1Id())) {
+                    emitSwap(new SwapTopic(chainId, pair.getToken1Id()), payloads.get(i));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to push {} swaps for chain {}", event.swaps().size(), event.chainId(), e);
+        }
+    }
+
+    private void emitSwap(SwapTopic topic, TransactionPayload payload) {
+        Topic<TransactionPayload> subscribers = swapTopics.get(topic);
+        if (subscribers != null) {
+            subscribers.emit(payload);
+        }
+    }
+
+    private void publishCandles(CandleSourceCommittedEvent event) {
+        long now = System.currentTimeMillis() / 1000;
+        for (Map.Entry<CandleTopic, Topic<TokenOhlcPayload>> entry : candleTopics.entrySet()) {
+            CandleTopic topic = entry.getKey();
+            Integer periodStart = event.latestPeriodByToken().get(topic.tokenId());
+            if (periodStart == null || !matches(topic, event) || !isLive(topic.interval(), periodStart, now)) {
+                continue;
+            }
+            try {
+                TokenOhlcPayload candle = tokenCandleLoader.loadBucket(topic.chainId(), topic.tokenId(), topic.interval(), periodStart);
+                if (candle != null) {
+                    entry.getValue().emit(candle);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to push {} candle for {} on chain {}", topic.interval(), topic.tokenId(), topic.chainId(), e);
+            }
+        }
+    }
+
+    private boolean hasSwapSubscribers(String chainId) {
+        return swapTopics.keySet().stream().anyMatch(topic -> topic.chainId().equals(chainId));
+    }
+
+    private boolean hasCandleSubscribers(CandleSourceCommittedEvent event) {
+        return candleTopics.keySet().stream()
+                .anyMatch(topic -> matches(topic, event) && event.latestPeriodByToken().containsKey(topic.tokenId()));
+    }
+
+    /**
+     * 当前这根和刚收盘的上一根（收盘前最后几笔成交可能在下一根开始后才同步到）
+     */
+    static boolean isLive(TokenChartInterval interval, long periodStart, long now) {
+        int width = interval.getSeconds();
+        int offset = interval.getOffsetSeconds();
+        long current = Math.floorDiv(now - offset, width) * width + offset;
+        long bucket = Math.floorDiv(periodStart - offset, width) * width + offset;
+        return bucket >= current - width;
+    }
+
+    private static boolean matches(CandleTopic topic, CandleSourceCommittedEvent event) {
+        return topic.chainId().equals(event.chainId()) && topic.interval().isHourSource() == event.hourSource();
+    }
+
+    /**
+     * 订阅计数在 compute 中增减，最后一个订阅者取消时原子地移除主题
+     */
+    private static <K, V> Flux<V> subscribe(
+            ConcurrentMap<K, Topic<V>> topics,
+            K key,
+            Function<Flux<V>, Flux<V>> backpressure
+    ) {
+        return Flux.defer(() -> {
+            Topic<V> topic = topics.compute(key, (k, existing) -> {
+                Topic<V> current = existing == null ? new Topic<>() : existing;
+                current.subscribers++;
+                return current;
+            });
+            return backpressure.apply(topic.sink.asFlux())
+                    .doFinally(signal -> topics.computeIfPresent(key, (k, current) -> --current.subscribers == 0 ? null : current));
+        });
+    }
+
+    private static final class Topic<V> {
+
+        private final Sinks.Many<V> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+
+        /**
+         * 只在推送线程上调用
+         */
+        void emit(V value) {
+            sink.tryEmitNext(value);
+        }
+    }
+
+    private record SwapTopic(String chainId, String tokenId) {
+    }
+
+    private record CandleTopic(String chainId, String tokenId, TokenChartInterval interval) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.config.GraphQlRequestCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * 自动持久化查询（Apollo APQ）：sha256(查询文本) → 查询文本
+ *
+ * <p>进程内 Caffeine 在前，Redis {@code ds:v2:apq:{hash}} 在后，任一实例注册后其他实例也能按哈希执行。
+ * Redis 不可用时退化为仅进程内，客户端收到 PersistedQueryNotFound 后会带上全文重试。</p>
+ */
+@Slf4j
+@Component
+public class PersistedQueryStore {
+
+    private static final String KEY_PREFIX = "ds:v2:apq:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Cache<String, String> local;
+
+    public PersistedQueryStore(StringRedisTemplate redisTemplate, GraphQlRequestCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(Math.max(1, properties.getPersistedQueryTtlHours()));
+        this.local = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, properties.getDocumentCacheSize()))
+                .build();
+    }
+
+    /**
+     * @return 查询文本，未注册时返回 null
+     */
+    public String find(String hash) {
+        String query = local.getIfPresent(hash);
+        if (query != null) {
+            return query;
+        }
+        try {
+            query = redisTemplate.opsForValue().get(KEY_PREFIX + hash);
+        } catch (Exception e) {
+            log.warn("Redis read failed for persisted query {}", hash, e);
+            return null;
+        }
+        if (query != null) {
+            local.put(hash, query);
+        }
+        return query;
+    }
+
+    public void register(String hash, String query) {
+        if (query.equals(local.getIfPresent(hash))) {
+            return;
+        }
+        local.put(hash, query);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + hash, query, ttl);
+        } catch (Exception e) {
+            log.warn("Redis write failed for persisted query {}", hash, e);
+        }
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.dripswap.bff.gql;
 
+import com.dripswap.bff.cache.CacheNamespace;
+import com.dripswap.bff.cache.QueryCache;
 import com.dripswap.bff.entity.BridgeTransfer;
 import com.dripswap.bff.entity.Burn;
 import com.dripswap.bff.entity.Bundle;
@@ -11,13 +13,14 @@ import com.dripswap.bff.entity.Transaction;
 import com.dripswap.bff.entity.Token;
 import com.dripswap.bff.entity.TokenDayData;
 import com.dripswap.bff.entity.TokenHourData;
-import com.dripswap.bff.entity.TokenMinuteData;
+import com.dripswap.bff.entity.TokenStats;
 import com.dripswap.bff.entity.UniswapDayData;
 import com.dripswap.bff.entity.UniswapFactory;
 import com.dripswap.bff.gql.payload.ExploreSeriesPointPayload;
 import com.dripswap.bff.gql.payload.ExploreStatsPayload;
 import com.dripswap.bff.gql.payload.ExploreTokenRowPayload;
 import com.dripswap.bff.gql.payload.RawEventPayload;
+import com.dripswap.bff.gql.payload.SubgraphStatusPayload;
 import com.dripswap.bff.gql.payload.TokenDetailsPayload;
 import com.dripswap.bff.gql.payload.TokenLitePayload;
 import com.dripswap.bff.gql.payload.TokenOhlcPayload;
@@ -33,28 +36,30 @@ import com.dripswap.bff.repository.PairTokenLookupRepository;
 import com.dripswap.bff.repository.SwapRepository;
 import com.dripswap.bff.repository.TokenDayDataRepository;
 import com.dripswap.bff.repository.TokenHourDataRepository;
-import com.dripswap.bff.repository.TokenMinuteDataRepository;
 import com.dripswap.bff.repository.TokenRepository;
+import com.dripswap.bff.repository.TokenStatsRepository;
 import com.dripswap.bff.repository.TransactionRepository;
 import com.dripswap.bff.repository.UniswapDayDataRepository;
 import com.dripswap.bff.repository.UniswapFactoryRepository;
+import com.dripswap.bff.sync.SubgraphStatusMonitor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -69,7 +74,8 @@ import java.util.stream.Stream;
 public class QueryResolver {
 
     private final ObjectMapper objectMapper;
-    private final StringRedisTemplate redisTemplate;
+    private final QueryCache queryCache;
+    private final TokenCandleLoader tokenCandleLoader;
     private final SwapRepository swapRepository;
     private final MintRepository mintRepository;
     private final BurnRepository burnRepository;
@@ -80,15 +86,18 @@ public class QueryResolver {
     private final BundleRepository bundleRepository;
     private final TokenHourDataRepository tokenHourDataRepository;
     private final TokenDayDataRepository tokenDayDataRepository;
-    private final TokenMinuteDataRepository tokenMinuteDataRepository;
     private final PairTokenLookupRepository pairTokenLookupRepository;
     private final UniswapFactoryRepository uniswapFactoryRepository;
     private final UniswapDayDataRepository uniswapDayDataRepository;
+    private final TokenStatsRepository tokenStatsRepository;
+    private final SubgraphStatusMonitor subgraphStatusMonitor;
     
-    // Redis TTL constants (按QUERY-AND-SYNC-STRATEGY.md规范)
-    private static final long TTL_RECENT_TX_SECONDS = 30 * 60;      // 30分钟
-    private static final long TTL_STATS_SECONDS = 60;               // 1分钟
-    private static final long TTL_TOKEN_LIST_SECONDS = 60;          // 1分钟
+    // Redis TTL constants：同步写入后由 CacheInvalidator 精确失效，TTL 只是兜底
+    private static final long TTL_RECENT_TX_SECONDS = 6 * 3600;     // 6小时
+    private static final long TTL_STATS_SECONDS = 30 * 60;          // 30分钟
+    private static final long TTL_TOKEN_LIST_SECONDS = 30 * 60;     // 30分钟
+    private static final int MAX_SEARCH_LENGTH = 64;
+    private static final int MAX_SEARCH_CANDIDATES = 1000;
     private static final int MAX_CANDLE_POINTS = 5000;
 
     @QueryMapping
@@ -96,6 +105,38 @@ public class QueryResolver {
         return "pong";
     }
 
+    /**
+     * Sync cursor vs. subgraph head, from the in-memory snapshot of {@link SubgraphStatusMonitor}.
+     * Never polls on the request thread; a chain the poller has not checked yet reports so.
+     */
+    @QueryMapping
+    public SubgraphStatusPayload subgraphStatus(@Argument String chainId) {
+        String normalizedChainId = normalizeChainId(chainId);
+        SubgraphStatusMonitor.ChainStatus status = subgraphStatusMonitor.status(normalizedChainId);
+        if (status == null && subgraphStatusMonitor.isEnabled(normalizedChainId)) {
+            return SubgraphStatusPayload.builder()
+                    .chainId(normalizedChainId)
+                    .isHealthy(false)
+                    .message("Subgraph status of chain " + normalizedChainId + " has not been checked yet")
+                    .build();
+        }
+        if (status == null) {
+            return SubgraphStatusPayload.builder()
+                    .chainId(normalizedChainId)
+                    .isHealthy(false)
+                    .message("Chain " + normalizedChainId + " is not synced by this BFF")
+                    .build();
+        }
+        return SubgraphStatusPayload.builder()
+                .chainId(normalizedChainId)
+                .isHealthy(status.isHealthy())
+                .syncedBlock(status.syncedBlock())
+                .headBlock(status.headBlock())
+                .indexingErrorCount(status.indexingErrors())
+                .message(status.message())
+                .build();
+    }
+
     /**
      * NOTE: raw_events table/entity is not implemented yet in this repo snapshot.
      * Return empty list to satisfy non-null GraphQL contract and avoid frontend failures.
@@ -107,7 +148,7 @@ public class QueryResolver {
 
     /**
      * Recent transactions for Explore page.
-     * Redis-first: ds:v2:{chain}:tx:global:recent
+     * Cached (L1 + Redis): ds:v2:{chain}:tx:global:recent
      *
      * <p>Current schema defines TransactionPayload as a "parsed tx record". We don't have a
      * dedicated tx_records table/entity yet, so we synthesize a recent stream from the existing
@@ -120,76 +161,15 @@ public class QueryResolver {
             int size = limit == null ? 25 : Math.max(1, Math.min(limit, 200));
             
             // Redis key: ds:v2:{chain}:tx:global:recent:{limit}
-            String redisKey = String.format("ds:v2:%s:tx:global:recent:%d", normalizedChainId, size);
-            
-            // 1. Try Redis first
-            String cached = redisTemplate.opsForValue().get(redisKey);
-            if (cached != null && !cached.isEmpty()) {
-                try {
-                    List<TransactionPayload> result = objectMapper.readValue(
-                        cached,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionPayload.class)
-                    );
-                    log.debug("Redis HIT: {} - returned {} transactions", redisKey, result.size());
-                    return result;
-                } catch (Exception e) {
-                    log.warn("Redis deserialization failed for key: {}, fallback to DB", redisKey, e);
-                }
-            }
+            String redisKey = CacheNamespace.RECENT_TRANSACTIONS.key(normalizedChainId, size);
             
-            // 2. Redis miss - query DB
-            log.debug("Redis MISS: {} - querying DB", redisKey);
-
-            // Uniswap "Transactions" tab is swaps-only for the V2 analytics context.
-            // We keep the existing schema name `recentTransactions`, but the returned stream is swaps-only.
-            List<Swap> swaps = swapRepository.findByChainId(
-                    normalizedChainId,
-                    PageRequest.of(
-                            0,
-                            size,
-                            Sort.by(Sort.Direction.DESC, "timestamp")
-                                    .and(Sort.by(Sort.Direction.DESC, "logIndex"))
-                    )
+            return queryCache.get(
+                    CacheNamespace.RECENT_TRANSACTIONS,
+                    redisKey,
+                    Duration.ofSeconds(TTL_RECENT_TX_SECONDS),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionPayload.class),
+                    () -> loadRecentTransactions(normalizedChainId, size)
             );
-
-            Set<String> txIds = swaps.stream().map(Swap::getTransactionId).collect(Collectors.toSet());
-            Map<String, Transaction> txMap = txIds.isEmpty()
-                    ? Map.of()
-                    : transactionRepository.findByChainIdAndIdIn(normalizedChainId, txIds)
-                    .stream()
-                    .collect(Collectors.toMap(Transaction::getId, t -> t, (a, b) -> a));
-
-            List<TransactionPayload> result = new ArrayList<>(swaps.size());
-            for (Swap swap : swaps) {
-                Transaction tx = txMap.get(swap.getTransactionId());
-                long blockNumber = tx == null ? 0L : tx.getBlockNumber();
-
-                String decodedData = buildJson(buildSwapDecodedData(normalizedChainId, swap));
-                result.add(TransactionPayload.builder()
-                        .id("swap:" + swap.getId())
-                        .chainId(normalizedChainId)
-                        .blockNumber(blockNumber)
-                        .txHash(swap.getTransactionId())
-                        .eventSig(null)
-                        .decodedName("Swap")
-                        .decodedData(decodedData)
-                        .status("indexed")
-                        .createdAt(String.valueOf(swap.getTimestamp()))
-                        .build());
-            }
-            
-            // 3. Write back to Redis with TTL
-            try {
-                String json = objectMapper.writeValueAsString(result);
-                redisTemplate.opsForValue().set(redisKey, json, 
-                    java.time.Duration.ofSeconds(TTL_RECENT_TX_SECONDS));
-                log.debug("Redis SET: {} - cached {} transactions for {}s", 
-                    redisKey, result.size(), TTL_RECENT_TX_SECONDS);
-            } catch (Exception e) {
-                log.warn("Failed to cache recentTransactions to Redis: {}", redisKey, e);
-            }
-
-            return result;
         } catch (Exception e) {
             log.error("recentTransactions failed: chainId={}, limit={}", chainId, limit, e);
             return List.of();
@@ -202,142 +182,42 @@ public class QueryResolver {
         int windowDays = days == null ? 30 : Math.max(1, Math.min(days, 90));
         
         // Redis key: ds:v2:{chain}:explore:stats:{days}
-        String redisKey = String.format("ds:v2:%s:explore:stats:%d", normalizedChainId, windowDays);
-        
-        // 1. Try Redis first
-        String cached = redisTemplate.opsForValue().get(redisKey);
-        if (cached != null && !cached.isEmpty()) {
-            try {
-                ExploreStatsPayload result = objectMapper.readValue(cached, ExploreStatsPayload.class);
-                log.debug("Redis HIT: {} - returned stats", redisKey);
-                return result;
-            } catch (Exception e) {
-                log.warn("Redis deserialization failed for key: {}, fallback to DB", redisKey, e);
-            }
-        }
+        String redisKey = CacheNamespace.EXPLORE_STATS.key(normalizedChainId, windowDays);
         
-        // 2. Redis miss - query DB
-        log.debug("Redis MISS: {} - querying DB", redisKey);
-
-        UniswapFactory factory = uniswapFactoryRepository
-                .findFirstByChainIdOrderByUpdatedAtDesc(normalizedChainId)
-                .orElse(null);
-
-        BigDecimal tvlUsd = factory == null ? BigDecimal.ZERO : safeBigDecimal(factory.getTotalLiquidityUsd());
-
-        UniswapDayData latestDay = uniswapDayDataRepository
-                .findFirstByChainIdOrderByDateDesc(normalizedChainId)
-                .orElse(null);
-
-        BigDecimal volume24hUsd = latestDay == null ? BigDecimal.ZERO : safeBigDecimal(latestDay.getDailyVolumeUsd());
-        BigDecimal fees24hUsd = volume24hUsd.multiply(new BigDecimal("0.003"));
-
-        List<UniswapDayData> seriesRows = uniswapDayDataRepository.findByChainIdOrderByDateDesc(
-                normalizedChainId,
-                PageRequest.of(0, windowDays)
+        return queryCache.get(
+                CacheNamespace.EXPLORE_STATS,
+                redisKey,
+                Duration.ofSeconds(TTL_STATS_SECONDS),
+                ExploreStatsPayload.class,
+                () -> loadExploreStats(normalizedChainId, windowDays)
         );
-
-        List<ExploreSeriesPointPayload> tvlSeries = seriesRows.stream()
-                .sorted(Comparator.comparingInt(UniswapDayData::getDate))
-                .map(row -> ExploreSeriesPointPayload.builder()
-                        .date(row.getDate())
-                        .valueUsd(safeBigDecimal(row.getTotalLiquidityUsd()))
-                        .build())
-                .toList();
-
-        List<ExploreSeriesPointPayload> volumeSeries = seriesRows.stream()
-                .sorted(Comparator.comparingInt(UniswapDayData::getDate))
-                .map(row -> ExploreSeriesPointPayload.builder()
-                        .date(row.getDate())
-                        .valueUsd(safeBigDecimal(row.getDailyVolumeUsd()))
-                        .build())
-                .toList();
-
-        ExploreStatsPayload result = ExploreStatsPayload.builder()
-                .chainId(normalizedChainId)
-                .tvlUsd(tvlUsd)
-                .volume24hUsd(volume24hUsd)
-                .fees24hUsd(fees24hUsd)
-                .tvlSeries(tvlSeries)
-                .volumeSeries(volumeSeries)
-                .build();
-        
-        // 3. Write back to Redis with TTL
-        try {
-            String json = objectMapper.writeValueAsString(result);
-            redisTemplate.opsForValue().set(redisKey, json,
-                java.time.Duration.ofSeconds(TTL_STATS_SECONDS));
-            log.debug("Redis SET: {} - cached stats for {}s", redisKey, TTL_STATS_SECONDS);
-        } catch (Exception e) {
-            log.warn("Failed to cache exploreStats to Redis: {}", redisKey, e);
-        }
-        
-        return result;
     }
 
     @QueryMapping
     public List<ExploreTokenRowPayload> exploreTokens(
             @Argument String chainId,
             @Argument Integer limit,
-            @Argument String search
+            @Argument String search,
+            @Argument ExploreTokenOrderBy orderBy
     ) {
         String normalizedChainId = normalizeChainId(chainId);
         int size = limit == null ? 50 : Math.max(1, Math.min(limit, 200));
         
-        // Redis key: ds:v2:{chain}:tokens:list:{limit}:{searchHash}
-        String searchKey = (search == null || search.trim().isEmpty()) 
-            ? "all" 
-            : Integer.toHexString(search.trim().toLowerCase().hashCode());
-        String redisKey = String.format("ds:v2:%s:tokens:list:%d:%s", 
-            normalizedChainId, size, searchKey);
-        
-        // 1. Try Redis first
-        String cached = redisTemplate.opsForValue().get(redisKey);
-        if (cached != null && !cached.isEmpty()) {
-            try {
-                List<ExploreTokenRowPayload> result = objectMapper.readValue(
-                    cached,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, ExploreTokenRowPayload.class)
-                );
-                log.debug("Redis HIT: {} - returned {} tokens", redisKey, result.size());
-                return result;
-            } catch (Exception e) {
-                log.warn("Redis deserialization failed for key: {}, fallback to DB", redisKey, e);
-            }
-        }
-        
-        // 2. Redis miss - query DB
-        log.debug("Redis MISS: {} - querying DB", redisKey);
-
-        List<Token> base = tokenRepository.findByChainIdOrderByTradeVolumeUsdDesc(normalizedChainId);
-        Stream<Token> stream = base.stream();
-
-        if (search != null && !search.trim().isEmpty()) {
-            String q = search.trim().toLowerCase(Locale.ROOT);
-            stream = stream.filter(token ->
-                    token.getId().toLowerCase(Locale.ROOT).contains(q)
-                            || token.getSymbol().toLowerCase(Locale.ROOT).contains(q)
-                            || token.getName().toLowerCase(Locale.ROOT).contains(q)
-            );
-        }
-
-        List<ExploreTokenRowPayload> result = stream
-                .limit(size)
-                .map(token -> toExploreTokenRow(normalizedChainId, token))
-                .toList();
-        
-        // 3. Write back to Redis with TTL
-        try {
-            String json = objectMapper.writeValueAsString(result);
-            redisTemplate.opsForValue().set(redisKey, json,
-                java.time.Duration.ofSeconds(TTL_TOKEN_LIST_SECONDS));
-            log.debug("Redis SET: {} - cached {} tokens for {}s", 
-                redisKey, result.size(), TTL_TOKEN_LIST_SECONDS);
-        } catch (Exception e) {
-            log.warn("Failed to cache exploreTokens to Redis: {}", redisKey, e);
-        }
-        
-        return result;
+        String query = normalizeSearch(search);
+
+        // Redis key: ds:v2:{chain}:tokens:list:{limit}:{search}[:{orderBy}]
+        // The search text is URL-encoded rather than hashed, so distinct searches never share a key.
+        String searchKey = query == null ? "all" : "q=" + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        String redisKey = orderBy == null
+                ? CacheNamespace.TOKEN_LIST.key(normalizedChainId, size, searchKey)
+                : CacheNamespace.TOKEN_LIST.key(normalizedChainId, size, searchKey, orderBy.name().toLowerCase(Locale.ROOT));
+        return queryCache.get(
+                CacheNamespace.TOKEN_LIST,
+                redisKey,
+                Duration.ofSeconds(TTL_TOKEN_LIST_SECONDS),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ExploreTokenRowPayload.class),
+                () -> loadExploreTokens(normalizedChainId, size, query, orderBy)
+        );
     }
 
     @QueryMapping
@@ -441,32 +321,8 @@ public class QueryResolver {
         int end = Math.max(from, to);
 
         try {
-            return switch (interval) {
-                case MINUTE -> toOhlcFromMinuteData(
-                        tokenMinuteDataRepository.findByChainIdAndTokenIdAndPeriodStartUnixBetweenOrderByPeriodStartUnixAsc(
-                                normalizedChainId,
-                                tokenId,
-                                start,
-                                end
-                        )
-                );
-                case HOUR -> toOhlcFromHourData(
-                        tokenHourDataRepository.findByChainIdAndTokenIdAndPeriodStartUnixBetweenOrderByPeriodStartUnixAsc(
-                                normalizedChainId,
-                                tokenId,
-                                start,
-                                end
-                        )
-                );
-                case DAY -> aggregateDailyFromHourData(
-                        tokenHourDataRepository.findByChainIdAndTokenIdAndPeriodStartUnixBetweenOrderByPeriodStartUnixAsc(
-                                normalizedChainId,
-                                tokenId,
-                                start,
-                                end
-                        )
-                );
-            };
+            // 桶宽随区间放大，聚合在 SQL 中完成，返回条数不超过 MAX_CANDLE_POINTS；已收盘的分块走缓存
+            return tokenCandleLoader.load(normalizedChainId, tokenId, interval, start, end, MAX_CANDLE_POINTS);
         } catch (Exception e) {
             log.error(
                     "tokenPriceCandles failed: chainId={}, tokenAddress={}, interval={}, from={}, to={}",
@@ -603,6 +459,205 @@ public class QueryResolver {
                 .toList();
     }
 
+    private List<TransactionPayload> loadRecentTransactions(String normalizedChainId, int size) {
+        // Uniswap "Transactions" tab is swaps-only for the V2 analytics context.
+        // We keep the existing schema name `recentTransactions`, but the returned stream is swaps-only.
+        List<Swap> swaps = swapRepository.findByChainId(
+                normalizedChainId,
+                PageRequest.of(
+                        0,
+                        size,
+                        Sort.by(Sort.Direction.DESC, "timestamp")
+                                .and(Sort.by(Sort.Direction.DESC, "logIndex"))
+                )
+        );
+        return swapPayloads(normalizedChainId, swaps);
+    }
+
+    /**
+     * swaps → TransactionPayload（顺序不变），同时被 onSwap 订阅推送使用
+     */
+    List<TransactionPayload> swapPayloads(String normalizedChainId, List<Swap> swaps) {
+        Set<String> txIds = swaps.stream().map(Swap::getTransactionId).collect(Collectors.toSet());
+        Map<String, Transaction> txMap = txIds.isEmpty()
+                ? Map.of()
+                : transactionRepository.findByChainIdAndIdIn(normalizedChainId, txIds)
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, t -> t, (a, b) -> a));
+
+        // Resolve pairs and their tokens for the whole page up front (two IN-queries, not 3 per swap).
+        Map<String, Pair> pairById = findPairMap(normalizedChainId, swaps.stream()
+                .map(Swap::getPairId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        Map<String, Token> tokenById = findTokenMetaMap(normalizedChainId, pairById.values().stream()
+                .flatMap(p -> Stream.of(p.getToken0Id(), p.getToken1Id()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        List<TransactionPayload> result = new ArrayList<>(swaps.size());
+        for (Swap swap : swaps) {
+            Transaction tx = txMap.get(swap.getTransactionId());
+            long blockNumber = tx == null ? 0L : tx.getBlockNumber();
+
+            String decodedData = buildJson(buildSwapDecodedData(swap, pairById, tokenById));
+            result.add(TransactionPayload.builder()
+                    .id("swap:" + swap.getId())
+                    .chainId(normalizedChainId)
+                    .blockNumber(blockNumber)
+                    .txHash(swap.getTransactionId())
+                    .eventSig(null)
+                    .decodedName("Swap")
+                    .decodedData(decodedData)
+                    .status("indexed")
+                    .createdAt(String.valueOf(swap.getTimestamp()))
+                    .build());
+        }
+        return result;
+    }
+
+    private ExploreStatsPayload loadExploreStats(String normalizedChainId, int windowDays) {
+        UniswapFactory factory = uniswapFactoryRepository
+                .findFirstByChainIdOrderByUpdatedAtDesc(normalizedChainId)
+                .orElse(null);
+
+        BigDecimal tvlUsd = factory == null ? BigDecimal.ZERO : safeBigDecimal(factory.getTotalLiquidityUsd());
+
+        UniswapDayData latestDay = uniswapDayDataRepository
+                .findFirstByChainIdOrderByDateDesc(normalizedChainId)
+                .orElse(null);
+
+        BigDecimal volume24hUsd = latestDay == null ? BigDecimal.ZERO : safeBigDecimal(latestDay.getDailyVolumeUsd());
+        BigDecimal fees24hUsd = volume24hUsd.multiply(new BigDecimal("0.003"));
+
+        List<UniswapDayData> seriesRows = uniswapDayDataRepository.findByChainIdOrderByDateDesc(
+                normalizedChainId,
+                PageRequest.of(0, windowDays)
+        );
+
+        List<ExploreSeriesPointPayload> tvlSeries = seriesRows.stream()
+                .sorted(Comparator.comparingInt(UniswapDayData::getDate))
+                .map(row -> ExploreSeriesPointPayload.builder()
+                        .date(row.getDate())
+                        .valueUsd(safeBigDecimal(row.getTotalLiquidityUsd()))
+                        .build())
+                .toList();
+
+        List<ExploreSeriesPointPayload> volumeSeries = seriesRows.stream()
+                .sorted(Comparator.comparingInt(UniswapDayData::getDate))
+                .map(row -> ExploreSeriesPointPayload.builder()
+                        .date(row.getDate())
+                        .valueUsd(safeBigDecimal(row.getDailyVolumeUsd()))
+                        .build())
+                .toList();
+
+        ExploreStatsPayload result = ExploreStatsPayload.builder()
+                .chainId(normalizedChainId)
+                .tvlUsd(tvlUsd)
+                .volume24hUsd(volume24hUsd)
+                .fees24hUsd(fees24hUsd)
+                .tvlSeries(tvlSeries)
+                .volumeSeries(volumeSeries)
+                .build();
+        return result;
+    }
+
+    private List<ExploreTokenRowPayload> loadExploreTokens(
+            String normalizedChainId,
+            int size,
+            String query,
+            ExploreTokenOrderBy orderBy
+    ) {
+        List<Token> tokens;
+        if (query == null) {
+            tokens = orderBy == null
+                    ? tokenRepository.findByChainIdOrderByTradeVolumeUsdDesc(normalizedChainId, PageRequest.of(0, size))
+                    // Single indexed scan over token_stats
+                    : findTokensByStats(normalizedChainId, orderBy, size);
+        } else if (orderBy == null) {
+            tokens = searchTokens(normalizedChainId, query, size);
+        } else {
+            tokens = sortByStats(normalizedChainId, searchTokens(normalizedChainId, query, MAX_SEARCH_CANDIDATES), orderBy);
+        }
+
+        List<ExploreTokenRowPayload> result = tokens.stream()
+                .limit(size)
+                .map(token -> toExploreTokenRow(normalizedChainId, token))
+                .toList();
+        return result;
+    }
+
+    /**
+     * Trimmed, lowercased search text capped at {@link #MAX_SEARCH_LENGTH}; null when there is nothing to search.
+     */
+    private String normalizeSearch(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        String query = search.trim().toLowerCase(Locale.ROOT);
+        return query.length() > MAX_SEARCH_LENGTH ? query.substring(0, MAX_SEARCH_LENGTH) : query;
+    }
+
+    /**
+     * Ranked substring match on symbol / name / address via the pg_trgm indexes.
+     */
+    private List<Token> searchTokens(String chainId, String query, int limit) {
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return tokenRepository.search(chainId, query, "%" + escaped + "%", escaped + "%", limit);
+    }
+
+    /**
+     * Top {@code size} tokens by a token_stats metric, descending with nulls last.
+     * Rows whose metric has gone stale resolve to null, so they come after every fresh row.
+     */
+    private List<Token> findTokensByStats(String chainId, ExploreTokenOrderBy orderBy, int size) {
+        Sort byMetric = Sort.by(Sort.Order.desc(orderBy.getProperty()).nullsLast());
+        Integer since = orderBy.freshSince(System.currentTimeMillis() / 1000);
+        List<TokenStats> ranked;
+        if (since == null) {
+            ranked = tokenStatsRepository.findByChainId(chainId, PageRequest.of(0, size, byMetric));
+        } else {
+            ranked = new ArrayList<>(tokenStatsRepository.findFresh(chainId, since, PageRequest.of(0, size, byMetric)));
+            if (ranked.size() < size) {
+                ranked.addAll(tokenStatsRepository.findStale(chainId, since, PageRequest.of(0, size - ranked.size(), Sort.by("id"))));
+            }
+        }
+        List<String> ids = ranked.stream()
+                .map(TokenStats::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Token> tokenById = tokenRepository.findByChainIdAndIdIn(chainId, ids).stream()
+                .collect(Collectors.toMap(Token::getId, t -> t));
+        return ids.stream()
+                .map(tokenById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Token> sortByStats(String chainId, List<Token> tokens, ExploreTokenOrderBy orderBy) {
+        if (tokens.isEmpty()) {
+            return tokens;
+        }
+
+        Map<String, TokenStats> statsById = tokenStatsRepository.findByChainIdAndIdIn(chainId, tokens.stream()
+                        .map(Token::getId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(TokenStats::getId, s -> s));
+        long now = System.currentTimeMillis() / 1000;
+        return tokens.stream()
+                .sorted(Comparator.comparing(
+                        (Token t) -> orderBy.valueOf(statsById.get(t.getId()), now),
+                        Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder())
+                ))
+                .toList();
+    }
+
     private ExploreTokenRowPayload toExploreTokenRow(String chainId, Token token) {
         return ExploreTokenRowPayload.builder()
                 .id(token.getId())
@@ -631,67 +686,6 @@ public class QueryResolver {
         return id;
     }
 
-    private List<TokenOhlcPayload> toOhlcFromMinuteData(List<TokenMinuteData> rows) {
-        return downsample(rows, row -> TokenOhlcPayload.builder()
-                .timestamp(row.getPeriodStartUnix())
-                .open(safeBigDecimal(row.getOpen()))
-                .high(safeBigDecimal(row.getHigh()))
-                .low(safeBigDecimal(row.getLow()))
-                .close(safeBigDecimal(row.getClose()))
-                .volumeUsd(safeBigDecimal(row.getVolumeUsd()))
-                .tvlUsd(safeBigDecimal(row.getTotalValueLockedUsd()))
-                .build());
-    }
-
-    private List<TokenOhlcPayload> toOhlcFromHourData(List<TokenHourData> rows) {
-        return downsample(rows, row -> TokenOhlcPayload.builder()
-                .timestamp(row.getPeriodStartUnix())
-                .open(safeBigDecimal(row.getOpen()))
-                .high(safeBigDecimal(row.getHigh()))
-                .low(safeBigDecimal(row.getLow()))
-                .close(safeBigDecimal(row.getClose()))
-                .volumeUsd(safeBigDecimal(row.getVolumeUsd()))
-                .tvlUsd(safeBigDecimal(row.getTotalValueLockedUsd()))
-                .build());
-    }
-
-    private List<TokenOhlcPayload> aggregateDailyFromHourData(List<TokenHourData> rows) {
-        if (rows.isEmpty()) {
-            return List.of();
-        }
-
-        Map<Integer, AggregatedOhlc> byDay = new LinkedHashMap<>();
-        for (TokenHourData row : rows) {
-            int dayStart = (row.getPeriodStartUnix() / 86400) * 86400;
-            AggregatedOhlc bucket = byDay.computeIfAbsent(dayStart, k -> new AggregatedOhlc(dayStart));
-            bucket.add(row);
-        }
-
-        List<TokenOhlcPayload> result = byDay.values().stream()
-                .map(AggregatedOhlc::toPayload)
-                .toList();
-
-        return result.size() > MAX_CANDLE_POINTS ? result.subList(result.size() - MAX_CANDLE_POINTS, result.size()) : result;
-    }
-
-    private <T> List<TokenOhlcPayload> downsample(List<T> rows, java.util.function.Function<T, TokenOhlcPayload> mapper) {
-        if (rows.isEmpty()) {
-            return List.of();
-        }
-
-        int size = rows.size();
-        if (size <= MAX_CANDLE_POINTS) {
-            return rows.stream().map(mapper).toList();
-        }
-
-        int step = (int) Math.ceil(size / (double) MAX_CANDLE_POINTS);
-        List<TokenOhlcPayload> sampled = new ArrayList<>();
-        for (int i = 0; i < size; i += step) {
-            sampled.add(mapper.apply(rows.get(i)));
-        }
-        return sampled;
-    }
-
     private List<Pair> findPairsForToken(String chainId, String tokenId, int maxLookups) {
         String prefix = tokenId + "-";
         List<PairTokenLookup> lookups = pairTokenLookupRepository.findByChainIdAndIdStartingWith(
@@ -713,6 +707,15 @@ public class QueryResolver {
         return pairRepository.findByChainIdAndIdIn(chainId, pairIds);
     }
 
+    private Map<String, Pair> findPairMap(String chainId, List<String> pairIds) {
+        if (pairIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return pairRepository.findByChainIdAndIdIn(chainId, pairIds).stream()
+                .collect(Collectors.toMap(Pair::getId, p -> p, (a, b) -> a));
+    }
+
     private Map<String, Token> findTokenMetaMap(String chainId, List<String> tokenIds) {
         if (tokenIds.isEmpty()) {
             return Map.of();
@@ -738,62 +741,6 @@ public class QueryResolver {
                 .build();
     }
 
-    private static class AggregatedOhlc {
-        private final Integer timestamp;
-        private BigDecimal open;
-        private BigDecimal high;
-        private BigDecimal low;
-        private BigDecimal close;
-        private BigDecimal volumeUsd;
-        private BigDecimal tvlUsd;
-
-        AggregatedOhlc(Integer timestamp) {
-            this.timestamp = timestamp;
-            this.open = null;
-            this.high = null;
-            this.low = null;
-            this.close = null;
-            this.volumeUsd = BigDecimal.ZERO;
-            this.tvlUsd = BigDecimal.ZERO;
-        }
-
-        void add(TokenHourData row) {
-            BigDecimal rowOpen = row.getOpen();
-            BigDecimal rowHigh = row.getHigh();
-            BigDecimal rowLow = row.getLow();
-            BigDecimal rowClose = row.getClose();
-
-            if (open == null) {
-                open = rowOpen;
-            }
-
-            close = rowClose;
-
-            if (high == null || (rowHigh != null && rowHigh.compareTo(high) > 0)) {
-                high = rowHigh;
-            }
-
-            if (low == null || (rowLow != null && rowLow.compareTo(low) < 0)) {
-                low = rowLow;
-            }
-
-            volumeUsd = volumeUsd.add(row.getVolumeUsd() == null ? BigDecimal.ZERO : row.getVolumeUsd());
-            tvlUsd = row.getTotalValueLockedUsd() == null ? tvlUsd : row.getTotalValueLockedUsd();
-        }
-
-        TokenOhlcPayload toPayload() {
-            return TokenOhlcPayload.builder()
-                    .timestamp(timestamp)
-                    .open(open == null ? BigDecimal.ZERO : open)
-                    .high(high == null ? BigDecimal.ZERO : high)
-                    .low(low == null ? BigDecimal.ZERO : low)
-                    .close(close == null ? BigDecimal.ZERO : close)
-                    .volumeUsd(volumeUsd)
-                    .tvlUsd(tvlUsd == null ? BigDecimal.ZERO : tvlUsd)
-                    .build();
-        }
-    }
-
     private TransactionPayload toPayload(String chainId, EventRow row) {
         return TransactionPayload.builder()
                 .id(row.getId())
@@ -844,10 +791,10 @@ public class QueryResolver {
         return data;
     }
 
-    private Map<String, Object> buildSwapDecodedData(String chainId, Swap swap) {
+    private Map<String, Object> buildSwapDecodedData(Swap swap, Map<String, Pair> pairById, Map<String, Token> tokenById) {
         Map<String, Object> data = buildSwapData(swap);
 
-        Pair pair = pairRepository.findByIdAndChainId(swap.getPairId(), chainId).orElse(null);
+        Pair pair = pairById.get(swap.getPairId());
         if (pair == null) {
             data.put("tokenIn", null);
             data.put("tokenOut", null);
@@ -856,8 +803,8 @@ public class QueryResolver {
             return data;
         }
 
-        Token token0 = tokenRepository.findByIdAndChainId(pair.getToken0Id(), chainId).orElse(null);
-        Token token1 = tokenRepository.findByIdAndChainId(pair.getToken1Id(), chainId).orElse(null);
+        Token token0 = tokenById.get(pair.getToken0Id());
+        Token token1 = tokenById.get(pair.getToken1Id());
 
         boolean isToken0In = swap.getAmount0In() != null && swap.getAmount0In().compareTo(BigDecimal.ZERO) > 0;
         if (isToken0In) {
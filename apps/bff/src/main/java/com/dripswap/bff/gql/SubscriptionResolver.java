@@ -0,0 +1,50 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.gql.payload.TokenOhlcPayload;
+import com.dripswap.bff.gql.payload.TransactionPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.util.Locale;
+
+/**
+ * GraphQL subscriptions (WebSocket, graphql-transport-ws).
+ * Pushed by {@link LiveFeed} as soon as sync commits swaps / minute and hour data,
+ * so open charts and transaction tables no longer need to poll.
+ */
+@Controller
+@RequiredArgsConstructor
+public class SubscriptionResolver {
+
+    private final LiveFeed liveFeed;
+
+    @SubscriptionMapping
+    public Flux<TransactionPayload> onSwap(@Argument String chainId, @Argument String tokenAddress) {
+        return liveFeed.swaps(normalizeChainId(chainId), tokenAddress == null || tokenAddress.isBlank() ? null : normalize(tokenAddress));
+    }
+
+    @SubscriptionMapping
+    public Flux<TokenOhlcPayload> onCandle(
+            @Argument String chainId,
+            @Argument String tokenAddress,
+            @Argument TokenChartInterval interval
+    ) {
+        return liveFeed.candles(normalizeChainId(chainId), normalize(tokenAddress), interval);
+    }
+
+    private static String normalizeChainId(String chainId) {
+        String v = normalize(chainId);
+        return switch (v) {
+            case "", "11155111", "sepolia" -> "sepolia";
+            case "534351", "scroll-sepolia", "scroll_sepolia", "scroll sepolia" -> "scroll-sepolia";
+            default -> v;
+        };
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,144 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.cache.CacheNamespace;
+import com.dripswap.bff.cache.QueryCache;
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.gql.payload.TokenOhlcPayload;
+import com.dripswap.bff.repository.OhlcBucket;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.dripswap.bff.repository.TokenHourDataRepository;
+import com.dripswap.bff.repository.TokenMinuteDataRepository;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tokenPriceCandles 的分块加载
+ *
+ * <p>按桶宽把时间轴切成固定的 {@link #CHUNK_BUCKETS} 根 K 线一块（与桶对齐），
+ * 整块都早于同步水位（sync_status.last_synced_timestamp）的块已经收盘、内容不再变化，
+ * 以 (链, token, 数据源, 桶宽, 块起点) 为键长期缓存；只有仍在进行中的尾部块每次查库。</p>
+ *
+ * <p>分钟周期在长区间上会被放宽到整小时 / 整天的桶宽，与小时数据源的周期桶宽相同，
+ * 但 token_minute_data 会被子图归档、水位也不同，所以数据源必须是键的一部分。</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenCandleLoader {
+
+    static final int CHUNK_BUCKETS = 500;
+    private static final Duration CLOSED_CHUNK_TTL = Duration.ofDays(7);
+
+    private final TokenMinuteDataRepository tokenMinuteDataRepository;
+    private final TokenHourDataRepository tokenHourDataRepository;
+    private final SyncStatusRepository syncStatusRepository;
+    private final QueryCache queryCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 返回 [from, to] 内的 K 线；首尾的桶是完整的桶，不会被区间截断
+     */
+    public List<TokenOhlcPayload> load(String chainId, String tokenId, TokenChartInterval interval, int from, int to, int maxPoints) {
+        int bucketSeconds = interval.bucketSeconds(from, to, maxPoints);
+        int offset = interval.getOffsetSeconds();
+        long chunkSeconds = (long) bucketSeconds * CHUNK_BUCKETS;
+        long watermark = watermark(chainId, interval);
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, TokenOhlcPayload.class);
+
+        List<TokenOhlcPayload> candles = new ArrayList<>();
+        for (long chunkStart = alignDown(from, chunkSeconds, offset); chunkStart <= to; chunkStart += chunkSeconds) {
+            long chunkEnd = chunkStart + chunkSeconds;
+            List<TokenOhlcPayload> chunk;
+            if (chunkEnd <= watermark) {
+                long start = chunkStart;
+                chunk = queryCache.get(
+                        CacheNamespace.CANDLES,
+                        CacheNamespace.CANDLES.key(chainId, tokenId, sourceOf(interval), bucketSeconds, offset, chunkStart),
+                        CLOSED_CHUNK_TTL,
+                        listType,
+                        () -> query(chainId, tokenId, interval, start, chunkEnd - 1, bucketSeconds, offset)
+                );
+            } else {
+                // 与已收盘块一样按整桶查询，最后一根不因 to 截断
+                long firstBucket = alignDown(from, bucketSeconds, offset);
+                long lastBucketEnd = alignDown(to, bucketSeconds, offset) + bucketSeconds;
+                chunk = query(chainId, tokenId, interval, Math.max(chunkStart, firstBucket), Math.min(chunkEnd, lastBucketEnd) - 1, bucketSeconds, offset);
+            }
+            for (TokenOhlcPayload candle : chunk) {
+                if (candle.getTimestamp() + bucketSeconds > from && candle.getTimestamp() <= to) {
+                    candles.add(candle);
+                }
+            }
+        }
+        return candles;
+    }
+
+    /**
+     * 单根 K 线（订阅推送用），不走缓存；该桶没有数据时返回 null
+     */
+    public TokenOhlcPayload loadBucket(String chainId, String tokenId, TokenChartInterval interval, int periodStart) {
+        int offset = interval.getOffsetSeconds();
+        long bucketStart = alignDown(periodStart, interval.getSeconds(), offset);
+        List<TokenOhlcPayload> candles = query(chainId, tokenId, interval, bucketStart, bucketStart + interval.getSeconds() - 1,
+                interval.getSeconds(), offset);
+        return candles.isEmpty() ? null : candles.get(0);
+    }
+
+    private List<TokenOhlcPayload> query(
+            String chainId,
+            String tokenId,
+            TokenChartInterval interval,
+            long from,
+            long to,
+            int bucketSeconds,
+            int offset
+    ) {
+        int start = (int) Math.max(0, from);
+        int end = (int) Math.min(Integer.MAX_VALUE, to);
+        List<OhlcBucket> buckets = interval.isHourSource()
+                ? tokenHourDataRepository.findCandles(chainId, tokenId, start, end, bucketSeconds, offset)
+                : tokenMinuteDataRepository.findCandles(chainId, tokenId, start, end, bucketSeconds, offset);
+        return buckets.stream().map(TokenCandleLoader::toPayload).toList();
+    }
+
+    /**
+     * 该周期数据源已完整同步到的区块时间；未知时返回 0，不缓存任何块
+     */
+    private long watermark(String chainId, TokenChartInterval interval) {
+        String entityType = interval.isHourSource() ? "tokenHourData" : "tokenMinuteData";
+        return syncStatusRepository.findById(chainId + ":" + entityType)
+                .map(SyncStatus::getLastSyncedTimestamp)
+                .map(Integer::longValue)
+                .orElse(0L);
+    }
+
+    private static String sourceOf(TokenChartInterval interval) {
+        return interval.isHourSource() ? "hour" : "minute";
+    }
+
+    private static long alignDown(long timestamp, long width, int offset) {
+        return Math.floorDiv(timestamp - offset, width) * width + offset;
+    }
+
+    private static TokenOhlcPayload toPayload(OhlcBucket bucket) {
+        return TokenOhlcPayload.builder()
+                .timestamp(bucket.getBucketStart())
+                .open(orZero(bucket.getOpen()))
+                .high(orZero(bucket.getHigh()))
+                .low(orZero(bucket.getLow()))
+                .close(orZero(bucket.getClose()))
+                .volumeUsd(orZero(bucket.getVolumeUsd()))
+                .tvlUsd(orZero(bucket.getTvlUsd()))
+                .build();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -1,8 +1,58 @@
 package com.dripswap.bff.gql;
 
+/**
+ * tokenPriceCandles 的 K 线周期
+ *
+ * <p>小时以下的周期由 token_minute_data 合并，其余由 token_hour_data 合并；周线从周一 00:00 UTC 开始。</p>
+ */
 public enum TokenChartInterval {
-    MINUTE,
-    HOUR,
-    DAY
-}
+    MINUTE(60, false),
+    FIVE_MINUTES(5 * 60, false),
+    FIFTEEN_MINUTES(15 * 60, false),
+    HOUR(3600, true),
+    FOUR_HOURS(4 * 3600, true),
+    DAY(86400, true),
+    WEEK(7 * 86400, true);
+
+    /**
+     * 1970-01-05 是周一，周线桶从这里对齐；其他周期 epoch 0 本身就是整点
+     */
+    private static final int WEEK_OFFSET_SECONDS = 4 * 86400;
+
+    private final int seconds;
+    private final boolean hourSource;
+
+    TokenChartInterval(int seconds, boolean hourSource) {
+        this.seconds = seconds;
+        this.hourSource = hourSource;
+    }
 
+    public int getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * true 时从 token_hour_data 聚合，否则从 token_minute_data
+     */
+    public boolean isHourSource() {
+        return hourSource;
+    }
+
+    public int getOffsetSeconds() {
+        return this == WEEK ? WEEK_OFFSET_SECONDS : 0;
+    }
+
+    /**
+     * 实际桶宽：区间内的 K 线数超过 {@code maxPoints} 时取本周期的整数倍，保证返回条数不超过上限
+     */
+    public int bucketSeconds(int from, int to, int maxPoints) {
+        long span = (long) to - from + 1;
+        long buckets = (span + seconds - 1) / seconds;
+        if (buckets <= maxPoints) {
+            return seconds;
+        }
+        // 对齐后首尾各可能多出一个不完整的桶
+        long multiple = (buckets + maxPoints - 2) / (maxPoints - 1);
+        return (int) Math.min(Integer.MAX_VALUE, multiple * seconds);
+    }
+}
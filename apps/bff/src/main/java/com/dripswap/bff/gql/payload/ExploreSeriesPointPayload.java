@@ -2,11 +2,13 @@ package com.dripswap.bff.gql.payload;
 
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Value
 @Builder
+@Jacksonized
 public class ExploreSeriesPointPayload {
     Integer date;
     BigDecimal valueUsd;
@@ -2,12 +2,14 @@ package com.dripswap.bff.gql.payload;
 
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Value
 @Builder
+@Jacksonized
 public class ExploreStatsPayload {
     String chainId;
     BigDecimal tvlUsd;
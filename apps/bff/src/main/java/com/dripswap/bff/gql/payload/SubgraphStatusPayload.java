@@ -0,0 +1,17 @@
+package com.dripswap.bff.gql.payload;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class SubgraphStatusPayload {
+    String chainId;
+    Boolean isHealthy;
+    Long syncedBlock;
+    Long headBlock;
+    Integer indexingErrorCount;
+    String message;
+}
@@ -2,6 +2,7 @@ package com.dripswap.bff.gql.payload;
 
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * GraphQL payload for recent transactions.
@@ -10,6 +11,7 @@ import lombok.Value;
  */
 @Value
 @Builder
+@Jacksonized
 public class TransactionPayload {
     String id;
     String chainId;
@@ -0,0 +1,24 @@
+package com.dripswap.bff.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * 原生查询按时间桶聚合出的一根 K 线
+ * 开盘取桶内第一行、收盘和 TVL 取最后一行，最高/最低取极值，成交额求和
+ */
+public interface OhlcBucket {
+
+    Integer getBucketStart();
+
+    BigDecimal getOpen();
+
+    BigDecimal getHigh();
+
+    BigDecimal getLow();
+
+    BigDecimal getClose();
+
+    BigDecimal getVolumeUsd();
+
+    BigDecimal getTvlUsd();
+}
@@ -4,6 +4,11 @@ import com.dripswap.bff.entity.SyncStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface SyncStatusRepository extends JpaRepository<SyncStatus, String> {}
+public interface SyncStatusRepository extends JpaRepository<SyncStatus, String> {
+
+    List<SyncStatus> findByChainId(String chainId);
+}
 
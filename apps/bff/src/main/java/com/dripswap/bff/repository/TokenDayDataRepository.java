@@ -3,8 +3,11 @@ package com.dripswap.bff.repository;
 import com.dripswap.bff.entity.ChainEntityId;
 import com.dripswap.bff.entity.TokenDayData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,32 @@ public interface TokenDayDataRepository extends JpaRepository<TokenDayData, Chai
     );
 
     List<TokenDayData> findByChainIdAndTokenIdAndDateIn(String chainId, String tokenId, List<Integer> dates);
+
+    @Query(value = """
+            SELECT DISTINCT ON (token_id) *
+            FROM token_day_data
+            WHERE chain_id = :chainId AND token_id IN (:tokenIds)
+            ORDER BY token_id, date DESC
+            """, nativeQuery = true)
+    List<TokenDayData> findLatestByChainIdAndTokenIdIn(@Param("chainId") String chainId, @Param("tokenIds") Collection<String> tokenIds);
+
+    /**
+     * For each token, the last day at least 24h before its latest day.
+     */
+    @Query(value = """
+            SELECT p.*
+            FROM (
+                SELECT DISTINCT ON (token_id) token_id, date
+                FROM token_day_data
+                WHERE chain_id = :chainId AND token_id IN (:tokenIds)
+                ORDER BY token_id, date DESC
+            ) l
+            JOIN LATERAL (
+                SELECT d.* FROM token_day_data d
+                WHERE d.chain_id = :chainId AND d.token_id = l.token_id AND d.date <= l.date - 86400
+                ORDER BY d.date DESC
+                LIMIT 1
+            ) p ON true
+            """, nativeQuery = true)
+    List<TokenDayData> findPreviousByChainIdAndTokenIdIn(@Param("chainId") String chainId, @Param("tokenIds") Collection<String> tokenIds);
 }
@@ -3,9 +3,12 @@ package com.dripswap.bff.repository;
 import com.dripswap.bff.entity.ChainEntityId;
 import com.dripswap.bff.entity.TokenHourData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +36,32 @@ public interface TokenHourDataRepository extends JpaRepository<TokenHourData, Ch
             Integer from,
             Integer to
     );
+
+    List<TokenHourData> findByChainIdAndPeriodStartUnixAndTokenIdIn(
+            String chainId,
+            Integer periodStartUnix,
+            Collection<String> tokenIds
+    );
+
+    /**
+     * 把 [from, to] 内的行按 {@code bucketSeconds} 合并成 K 线，桶起点为 {@code offsetSeconds + k * bucketSeconds}
+     */
+    @Query(value = "SELECT (t.period_start_unix - :offsetSeconds) / :bucketSeconds * :bucketSeconds + :offsetSeconds AS \"bucketStart\", "
+            + "(array_agg(t.open ORDER BY t.period_start_unix))[1] AS \"open\", "
+            + "max(t.high) AS \"high\", "
+            + "min(t.low) AS \"low\", "
+            + "(array_agg(t.close ORDER BY t.period_start_unix DESC))[1] AS \"close\", "
+            + "sum(t.volume_usd) AS \"volumeUsd\", "
+            + "(array_agg(t.total_value_locked_usd ORDER BY t.period_start_unix DESC))[1] AS \"tvlUsd\" "
+            + "FROM token_hour_data t "
+            + "WHERE t.chain_id = :chainId AND t.token_id = :tokenId AND t.period_start_unix BETWEEN :from AND :to "
+            + "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<OhlcBucket> findCandles(
+            @Param("chainId") String chainId,
+            @Param("tokenId") String tokenId,
+            @Param("from") int from,
+            @Param("to") int to,
+            @Param("bucketSeconds") int bucketSeconds,
+            @Param("offsetSeconds") int offsetSeconds
+    );
 }
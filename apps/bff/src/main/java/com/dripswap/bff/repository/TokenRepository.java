@@ -2,7 +2,10 @@ package com.dripswap.bff.repository;
 
 import com.dripswap.bff.entity.Token;
 import com.dripswap.bff.entity.ChainEntityId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +20,32 @@ public interface TokenRepository extends JpaRepository<Token, ChainEntityId> {
 
     List<Token> findByChainIdAndIdIn(String chainId, List<String> ids);
     
-    List<Token> findByChainIdOrderByTradeVolumeUsdDesc(String chainId);
+    List<Token> findByChainIdOrderByTradeVolumeUsdDesc(String chainId, Pageable pageable);
+
+    /**
+     * Substring search over symbol, name and address, served by the pg_trgm indexes.
+     * Ranked: exact symbol, symbol prefix, name prefix, then trade volume.
+     *
+     * @param query   lowercase search text
+     * @param pattern LIKE pattern {@code %query%} with wildcards in the query escaped
+     * @param prefix  LIKE pattern {@code query%} with wildcards in the query escaped
+     */
+    @Query(value = """
+            SELECT t.*
+            FROM tokens t
+            WHERE t.chain_id = :chainId
+              AND (lower(t.symbol) LIKE :pattern OR lower(t.name) LIKE :pattern OR t.id LIKE :pattern)
+            ORDER BY lower(t.symbol) = :query DESC,
+                     lower(t.symbol) LIKE :prefix DESC,
+                     lower(t.name) LIKE :prefix DESC,
+                     t.trade_volume_usd DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Token> search(
+            @Param("chainId") String chainId,
+            @Param("query") String query,
+            @Param("pattern") String pattern,
+            @Param("prefix") String prefix,
+            @Param("limit") int limit
+    );
 }
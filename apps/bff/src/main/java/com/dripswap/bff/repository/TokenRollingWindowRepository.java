@@ -0,0 +1,10 @@
+package com.dripswap.bff.repository;
+
+import com.dripswap.bff.entity.ChainEntityId;
+import com.dripswap.bff.entity.TokenRollingWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TokenRollingWindowRepository extends JpaRepository<TokenRollingWindow, ChainEntityId> {
+}
@@ -0,0 +1,89 @@
+package com.dripswap.bff.repository;
+
+import com.dripswap.bff.entity.ChainEntityId;
+import com.dripswap.bff.entity.TokenStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenStatsRepository extends JpaRepository<TokenStats, ChainEntityId> {
+
+    /**
+     * Recomputes token_stats rows from tokens, bundle and token_hour_data.
+     * Percentages follow the resolver's rounding: ratio to 8 places, then * 100.
+     */
+    String REFRESH_SELECT = """
+            INSERT INTO token_stats (chain_id, token_id, price_usd, fdv_usd, latest_hour_start,
+                                     change_1h, change_1d, volume_24h_usd, updated_at)
+            SELECT t.chain_id,
+                   t.id,
+                   t.derived_eth * b.eth_price,
+                   CASE WHEN t.derived_eth * b.eth_price <> 0
+                        THEN round(t.total_supply / power(CAST(10 AS numeric), t.decimals), 8) * t.derived_eth * b.eth_price END,
+                   l.period_start_unix,
+                   CASE WHEN l.open <> 0 THEN round((l.close - l.open) / l.open, 8) * 100 END,
+                   CASE WHEN p.close <> 0 THEN round((l.close - p.close) / p.close, 8) * 100 END,
+                   v.volume_usd,
+                   now()
+            FROM tokens t
+            LEFT JOIN bundle b ON b.chain_id = t.chain_id AND b.id = '1'
+            LEFT JOIN LATERAL (
+                SELECT h.period_start_unix, h.open, h.close FROM token_hour_data h
+                WHERE h.chain_id = t.chain_id AND h.token_id = t.id
+                ORDER BY h.period_start_unix DESC
+                LIMIT 1
+            ) l ON true
+            LEFT JOIN LATERAL (
+                SELECT h.close FROM token_hour_data h
+                WHERE h.chain_id = t.chain_id AND h.token_id = t.id
+                  AND h.period_start_unix <= l.period_start_unix - 86400
+                ORDER BY h.period_start_unix DESC
+                LIMIT 1
+            ) p ON true
+            LEFT JOIN LATERAL (
+                SELECT COALESCE(SUM(h.volume_usd), 0) AS volume_usd FROM token_hour_data h
+                WHERE h.chain_id = t.chain_id AND h.token_id = t.id
+                  AND h.period_start_unix BETWEEN l.period_start_unix - 86400 AND l.period_start_unix
+            ) v ON l.period_start_unix IS NOT NULL
+            """;
+
+    String REFRESH_ON_CONFLICT = """
+            ON CONFLICT (chain_id, token_id) DO UPDATE SET
+                price_usd = EXCLUDED.price_usd,
+                fdv_usd = EXCLUDED.fdv_usd,
+                latest_hour_start = EXCLUDED.latest_hour_start,
+                change_1h = EXCLUDED.change_1h,
+                change_1d = EXCLUDED.change_1d,
+                volume_24h_usd = EXCLUDED.volume_24h_usd,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_SELECT + " WHERE t.chain_id = :chainId AND t.id IN (:tokenIds) " + REFRESH_ON_CONFLICT,
+            nativeQuery = true)
+    int refreshTokens(@Param("chainId") String chainId, @Param("tokenIds") Collection<String> tokenIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_SELECT + " WHERE t.chain_id = :chainId " + REFRESH_ON_CONFLICT, nativeQuery = true)
+    int refreshChain(@Param("chainId") String chainId);
+
+    List<TokenStats> findByChainIdAndIdIn(String chainId, Collection<String> ids);
+
+    List<TokenStats> findByChainId(String chainId, Pageable pageable);
+
+    /**
+     * Rows whose latest hour started at or after {@code since}, i.e. whose window metrics are still current.
+     */
+    @Query("SELECT s FROM TokenStats s WHERE s.chainId = :chainId AND s.latestHourStart >= :since")
+    List<TokenStats> findFresh(@Param("chainId") String chainId, @Param("since") int since, Pageable pageable);
+
+    @Query("SELECT s FROM TokenStats s WHERE s.chainId = :chainId AND (s.latestHourStart IS NULL OR s.latestHourStart < :since)")
+    List<TokenStats> findStale(@Param("chainId") String chainId, @Param("since") int since, Pageable pageable);
+}
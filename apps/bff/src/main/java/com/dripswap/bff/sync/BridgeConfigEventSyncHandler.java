@@ -24,6 +24,17 @@ public class BridgeConfigEventSyncHandler {
         if (eventsNode == null || !eventsNode.isArray()) {
             return;
         }
+        parseBridgeConfigEvents(chainId, eventsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseBridgeConfigEvents(String chainId, Iterable<JsonNode> eventsNode) {
+        if (eventsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<BridgeConfigEvent> events = new ArrayList<>();
         for (JsonNode node : eventsNode) {
@@ -34,10 +45,13 @@ public class BridgeConfigEventSyncHandler {
             }
         }
 
-        if (!events.isEmpty()) {
-            bridgeConfigEventRepository.saveAll(events);
-            log.info("Saved {} bridgeConfigEvents for chain: {}", events.size(), chainId);
-        }
+        return () -> {
+            if (!events.isEmpty()) {
+                bridgeConfigEventRepository.saveAll(events);
+                log.info("Saved {} bridgeConfigEvents for chain: {}", events.size(), chainId);
+            }
+            return events.size();
+        };
     }
 
     private BridgeConfigEvent parseEvent(String chainId, JsonNode node) {
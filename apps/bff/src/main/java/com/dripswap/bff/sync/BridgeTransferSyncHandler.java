@@ -24,6 +24,17 @@ public class BridgeTransferSyncHandler {
         if (transfersNode == null || !transfersNode.isArray()) {
             return;
         }
+        parseBridgeTransfers(chainId, transfersNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseBridgeTransfers(String chainId, Iterable<JsonNode> transfersNode) {
+        if (transfersNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<BridgeTransfer> transfers = new ArrayList<>();
         for (JsonNode node : transfersNode) {
@@ -34,10 +45,13 @@ public class BridgeTransferSyncHandler {
             }
         }
 
-        if (!transfers.isEmpty()) {
-            bridgeTransferRepository.saveAll(transfers);
-            log.info("Saved {} bridgeTransfers for chain: {}", transfers.size(), chainId);
-        }
+        return () -> {
+            if (!transfers.isEmpty()) {
+                bridgeTransferRepository.saveAll(transfers);
+                log.info("Saved {} bridgeTransfers for chain: {}", transfers.size(), chainId);
+            }
+            return transfers.size();
+        };
     }
 
     private BridgeTransfer parseTransfer(String chainId, JsonNode node) {
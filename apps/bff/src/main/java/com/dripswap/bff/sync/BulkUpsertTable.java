@@ -0,0 +1,203 @@
+package com.dripswap.bff.sync;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 批量 upsert 的目标表描述
+ *
+ * <p>列顺序即 COPY 的列顺序；主键为 {@code (chain_id, id)}，按时间分区的表（{@link Builder#partitionedBy}）
+ * 主键再加上分区列，落库事务开始前由 {@link PgBulkUpserter#prepare} 确保目标分区存在。
+ * {@code created_at} 在插入时取 {@code now()} 且不随更新改变，
+ * 声明了 {@link Builder#withUpdatedAt()} 的表在每次写入时刷新 {@code updated_at}。</p>
+ */
+public final class BulkUpsertTable<T> {
+
+    private final String name;
+    private final List<String> columns;
+    private final List<Function<T, Object>> extractors;
+    private final boolean updatedAt;
+    private final String partitionColumn;
+    private final List<String> keyColumns;
+
+    private BulkUpsertTable(String name, List<String> columns, List<Function<T, Object>> extractors, boolean updatedAt,
+                            String partitionColumn) {
+        this.keyColumns = partitionColumn == null
+                ? List.of("chain_id", "id")
+                : List.of("chain_id", "id", partitionColumn);
+        if (!columns.containsAll(keyColumns)) {
+            throw new IllegalArgumentException("Bulk upsert table " + name + " must map " + String.join(", ", keyColumns));
+        }
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.extractors = List.copyOf(extractors);
+        this.updatedAt = updatedAt;
+        this.partitionColumn = partitionColumn;
+    }
+
+    public static <T> Builder<T> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 范围分区列，未分区时为 null
+     */
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    Object valueOf(T row, String column) {
+        return extractors.get(columns.indexOf(column)).apply(row);
+    }
+
+    String stageName() {
+        return "stage_" + name;
+    }
+
+    /**
+     * 会话级临时表，事务提交后自动清空
+     * <p>取列定义用 {@code FROM ONLY}，分区表只锁父表，不会锁住各个分区（包括建分区时要独占的 DEFAULT 分区）</p>
+     */
+    String createStageSql() {
+        return "CREATE TEMP TABLE IF NOT EXISTS " + stageName() + " ON COMMIT DELETE ROWS AS SELECT "
+                + String.join(", ", columns) + " FROM ONLY " + name + " WITH NO DATA";
+    }
+
+    String copySql() {
+        return "COPY " + stageName() + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    /**
+     * 把 staging 表搬进目标表；DELETE ... RETURNING 保证同一事务内重复调用时不会重复合并
+     */
+    String mergeSql() {
+        String columnList = String.join(", ", columns);
+        List<String> insertColumns = new ArrayList<>(columns);
+        List<String> selectValues = new ArrayList<>(columns);
+        List<String> updates = new ArrayList<>();
+
+        insertColumns.add("created_at");
+        selectValues.add("now()");
+        if (updatedAt) {
+            insertColumns.add("updated_at");
+            selectValues.add("now()");
+        }
+        for (String column : columns) {
+            if (!keyColumns.contains(column)) {
+                updates.add(column + " = EXCLUDED." + column);
+            }
+        }
+        if (updatedAt) {
+            updates.add("updated_at = EXCLUDED.updated_at");
+        }
+
+        return "WITH staged AS (DELETE FROM " + stageName() + " RETURNING " + columnList + ") "
+                + "INSERT INTO " + name + " (" + String.join(", ", insertColumns) + ") "
+                + "SELECT " + String.join(", ", selectValues) + " FROM staged "
+                + "ON CONFLICT (" + String.join(", ", keyColumns) + ") DO "
+                + (updates.isEmpty() ? "NOTHING" : "UPDATE SET " + String.join(", ", updates));
+    }
+
+    /**
+     * 按主键去重（后出现的覆盖先出现的），否则 ON CONFLICT 在同一语句内二次命中同一行会报错
+     */
+    List<T> dedupe(Collection<T> rows) {
+        Map<List<Object>, T> unique = new LinkedHashMap<>();
+        for (T row : rows) {
+            List<Object> key = new ArrayList<>(keyColumns.size());
+            for (String column : keyColumns) {
+                key.add(valueOf(row, column));
+            }
+            unique.put(key, row);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * 编码为 COPY CSV：未加引号的空字段为 NULL，字符串一律加引号以区分空串
+     */
+    String toCsv(Collection<T> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * columns.size() * 16);
+        for (T row : rows) {
+            for (int i = 0; i < extractors.size(); i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsvValue(csv, extractors.get(i).apply(row));
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    static void appendCsvValue(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            csv.append(decimal.toPlainString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            csv.append(value);
+        } else if (value instanceof byte[] bytes) {
+            // bytea 十六进制输入格式
+            csv.append("\\x").append(HexFormat.of().formatHex(bytes));
+        } else {
+            String text = value.toString();
+            csv.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    csv.append('"');
+                }
+                csv.append(c);
+            }
+            csv.append('"');
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final String name;
+        private final List<String> columns = new ArrayList<>();
+        private final List<Function<T, Object>> extractors = new ArrayList<>();
+        private boolean updatedAt = false;
+        private String partitionColumn;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder<T> column(String column, Function<T, ?> extractor) {
+            columns.add(column);
+            extractors.add(extractor::apply);
+            return this;
+        }
+
+        public Builder<T> withUpdatedAt() {
+            this.updatedAt = true;
+            return this;
+        }
+
+        /**
+         * 目标表按该列（unix 秒）做 LIST (chain_id) → RANGE 分区，主键为 {@code (chain_id, id, column)}
+         */
+        public Builder<T> partitionedBy(String column) {
+            this.partitionColumn = column;
+            return this;
+        }
+
+        public BulkUpsertTable<T> build() {
+            return new BulkUpsertTable<>(name, columns, extractors, updatedAt, partitionColumn);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.Bundle;
 import com.dripswap.bff.repository.BundleRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,12 +21,34 @@ import java.util.List;
 public class BundleSyncHandler {
 
     private final BundleRepository bundleRepository;
+    private final TokenStatsUpdater tokenStatsUpdater;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleBundles(String chainId, JsonNode bundlesNode) {
         if (bundlesNode == null || !bundlesNode.isArray()) {
             return;
         }
+        parseBundles(chainId, bundlesNode).persist();
+        onBundlesSynced(chainId);
+    }
+
+    /**
+     * bundles 一轮同步写完后调用一次（而不是每页）：ETH 价格影响该链所有 token 的 priceUsd / fdvUsd
+     */
+    public void onBundlesSynced(String chainId) {
+        tokenStatsUpdater.refreshChain(chainId);
+        eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.TOKEN_LIST));
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseBundles(String chainId, Iterable<JsonNode> bundlesNode) {
+        if (bundlesNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Bundle> bundles = new ArrayList<>();
         for (JsonNode node : bundlesNode) {
@@ -34,10 +59,13 @@ public class BundleSyncHandler {
             }
         }
 
-        if (!bundles.isEmpty()) {
-            bundleRepository.saveAll(bundles);
-            log.info("Saved {} bundles for chain: {}", bundles.size(), chainId);
-        }
+        return () -> {
+            if (!bundles.isEmpty()) {
+                bundleRepository.saveAll(bundles);
+                log.info("Saved {} bundles for chain: {}", bundles.size(), chainId);
+            }
+            return bundles.size();
+        };
     }
 
     private Bundle parseBundle(String chainId, JsonNode node) {
@@ -2,8 +2,6 @@ package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.Burn;
 import com.dripswap.bff.entity.Transaction;
-import com.dripswap.bff.repository.BurnRepository;
-import com.dripswap.bff.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,14 +17,43 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BurnSyncHandler {
 
-    private final BurnRepository burnRepository;
-    private final TransactionRepository transactionRepository;
+    static final BulkUpsertTable<Burn> BURNS = BulkUpsertTable.<Burn>builder("burns")
+            .column("id", Burn::getId)
+            .column("chain_id", Burn::getChainId)
+            .column("transaction_id", Burn::getTransactionId)
+            .column("timestamp", Burn::getTimestamp)
+            .column("pair_id", Burn::getPairId)
+            .column("sender", Burn::getSender)
+            .column("liquidity", Burn::getLiquidity)
+            .column("amount0", Burn::getAmount0)
+            .column("amount1", Burn::getAmount1)
+            .column("to_address", Burn::getToAddress)
+            .column("log_index", Burn::getLogIndex)
+            .column("amount_usd", Burn::getAmountUsd)
+            .column("fee_to", Burn::getFeeTo)
+            .column("fee_liquidity", Burn::getFeeLiquidity)
+            .column("needs_complete", Burn::getNeedsComplete)
+            .partitionedBy("timestamp")
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
 
     @Transactional
     public void handleBurns(String chainId, JsonNode burnsNode) {
         if (burnsNode == null || !burnsNode.isArray()) {
             return;
         }
+        parseBurns(chainId, burnsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseBurns(String chainId, Iterable<JsonNode> burnsNode) {
+        if (burnsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Burn> burns = new ArrayList<>();
         List<Transaction> transactions = new ArrayList<>();
@@ -41,13 +68,19 @@ public class BurnSyncHandler {
             }
         }
 
-        if (!transactions.isEmpty()) {
-            transactionRepository.saveAll(transactions);
-        }
-        if (!burns.isEmpty()) {
-            burnRepository.saveAll(burns);
-            log.info("Saved {} burns for chain: {}", burns.size(), chainId);
-        }
+        return ParsedPage.preparedBy(() -> {
+            bulkUpserter.prepare(TransactionSyncHandler.TRANSACTIONS, transactions);
+            bulkUpserter.prepare(BURNS, burns);
+        }, () -> {
+            if (!transactions.isEmpty()) {
+                bulkUpserter.upsert(TransactionSyncHandler.TRANSACTIONS, transactions);
+            }
+            if (!burns.isEmpty()) {
+                bulkUpserter.upsert(BURNS, burns);
+                log.info("Saved {} burns for chain: {}", burns.size(), chainId);
+            }
+            return burns.size();
+        });
     }
 
     private Transaction parseTransaction(String chainId, JsonNode node) {
@@ -0,0 +1,29 @@
+package com.dripswap.bff.sync;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 增量同步写入一页 token_minute_data / token_hour_data 后发布（全量同步不发布）；事务提交后重算订阅中的当前 K 线并推送
+ *
+ * @param hourSource           true 表示 token_hour_data
+ * @param latestPeriodByToken  本页每个 token 最新的周期起点
+ */
+public record CandleSourceCommittedEvent(String chainId, boolean hourSource, Map<String, Integer> latestPeriodByToken) {
+
+    public static <T> CandleSourceCommittedEvent of(
+            String chainId,
+            boolean hourSource,
+            Collection<T> rows,
+            Function<T, String> tokenId,
+            Function<T, Integer> periodStart
+    ) {
+        Map<String, Integer> latest = new HashMap<>();
+        for (T row : rows) {
+            latest.merge(tokenId.apply(row), periodStart.apply(row), Math::max);
+        }
+        return new CandleSourceCommittedEvent(chainId, hourSource, latest);
+    }
+}
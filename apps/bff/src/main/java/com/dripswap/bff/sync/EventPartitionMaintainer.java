@@ -0,0 +1,142 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.EventPartitionProperties;
+import com.dripswap.bff.config.SubgraphProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 事件表分区维护
+ *
+ * <p>transactions / swaps / mints / burns 按 LIST (chain_id) → RANGE (timestamp) 分区，每条链每个 UTC 自然月一个分区
+ * （见 013-partitioned-event-tables.xml）。同步 writer 在每页的落库事务开始前经 {@link PgBulkUpserter#prepare}
+ * 调用 {@link #ensure}，页内出现的新月份先建分区再写，全量重同步的历史数据也直接落进各自的月分区；
+ * 建成功的分区记在内存里，之后的页不再访问数据库。</p>
+ *
+ * <p>建分区在自己的短事务里执行并限制等锁时间；拿不到锁时本页的行先落入 DEFAULT 分区，下一页会再试一次。
+ * 每 {@code dripswap.partitions.maintain-ms} 预建未来 {@code months-ahead} 个月的分区，并把 DEFAULT 分区里剩下的行搬进月分区。</p>
+ */
+@Slf4j
+@Component
+public class EventPartitionMaintainer {
+
+    static final List<String> TABLES = List.of("transactions", "swaps", "mints", "burns");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SubgraphProperties subgraphProperties;
+    private final EventPartitionProperties properties;
+
+    private final Set<PartitionKey> known = ConcurrentHashMap.newKeySet();
+
+    public EventPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SubgraphProperties subgraphProperties,
+            EventPartitionProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subgraphProperties = subgraphProperties;
+        this.properties = properties;
+    }
+
+    /**
+     * 确保 rows 涉及的 (链, 月) 分区都已存在；失败只记日志，不影响本页写入，也不记为已存在
+     *
+     * <p>必须在落库事务之外调用：事务内的连接可能正持有 DEFAULT 分区上的锁，而建分区要独占它</p>
+     */
+    public <T> void ensure(BulkUpsertTable<T> table, Collection<T> rows) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Partitions of " + table.getName() + " must be created outside the page transaction");
+        }
+        Set<PartitionKey> missing = new LinkedHashSet<>();
+        for (T row : rows) {
+            Object timestamp = table.valueOf(row, table.getPartitionColumn());
+            PartitionKey key = new PartitionKey(
+                    table.getName(),
+                    (String) table.valueOf(row, "chain_id"),
+                    monthStart(timestamp == null ? 0L : ((Number) timestamp).longValue())
+            );
+            if (!known.contains(key)) {
+                missing.add(key);
+            }
+        }
+        for (PartitionKey key : missing) {
+            try {
+                Integer created = inTransaction(() -> jdbcTemplate.queryForObject(
+                        "SELECT ds_ensure_event_partitions(?, ?, ?, ?)", Integer.class,
+                        key.table(), key.chainId(), key.month(), key.month()));
+                if (created != null && created > 0) {
+                    log.info("Created {} partition(s) of {} for chain {} month {}", created, key.table(), key.chainId(), key.month());
+                }
+                known.add(key);
+            } catch (Exception e) {
+                log.warn("Could not create partition of {} for chain {} month {}, rows go to the default partition until a later page retries: {}",
+                        key.table(), key.chainId(), key.month(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${dripswap.partitions.maintain-ms:3600000}")
+    public void maintain() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        long from = now.toEpochSecond();
+        long to = now.plusMonths(Math.max(0, properties.getMonthsAhead())).toEpochSecond();
+        for (String table : TABLES) {
+            try {
+                // 每条链、每次搬运各用一个短事务，DEFAULT 分区的独占锁不会跨链累积
+                int created = 0;
+                for (SubgraphProperties.ChainConfig chain : subgraphProperties.getChains()) {
+                    if (chain.isEnabled()) {
+                        created += inTransaction(() -> jdbcTemplate.queryForObject(
+                                "SELECT ds_ensure_event_partitions(?, ?, ?, ?)", Integer.class, table, chain.getId(), from, to));
+                    }
+                }
+                created += inTransaction(() -> jdbcTemplate.queryForObject("SELECT ds_drain_event_defaults(?)", Integer.class, table));
+                if (created > 0) {
+                    log.info("Partition maintenance created {} partition(s) of {}", created, table);
+                }
+            } catch (Exception e) {
+                log.warn("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * unix 秒所在 UTC 自然月的起点，与 SQL 函数 ds_event_month 一致
+     */
+    static long monthStart(long timestamp) {
+        return Instant.ofEpochSecond(timestamp)
+                .atZone(ZoneOffset.UTC)
+                .withDayOfMonth(1)
+                .truncatedTo(ChronoUnit.DAYS)
+                .toEpochSecond();
+    }
+
+    private <R> R inTransaction(Supplier<R> work) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + Math.max(1, properties.getLockTimeoutMs()));
+            return work.get();
+        });
+    }
+
+    private record PartitionKey(String table, String chainId, long month) {
+    }
+}
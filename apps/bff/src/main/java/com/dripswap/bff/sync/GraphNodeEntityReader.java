@@ -0,0 +1,259 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.GraphNodeDataSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 直接从 graph-node 的 Postgres 存储读取实体
+ *
+ * <p>按 {@link SubgraphEntitySpec#getFields()} 生成 SQL，只取每个实体的当前版本
+ * （可变实体 {@code upper_inf(block_range)}，不可变实体没有 block_range），
+ * 结果组装成与 GraphQL 响应相同形状的 JsonNode，交给原有的 SyncHandler 解析。
+ * 整个实体表在一个 REPEATABLE READ 只读事务中用服务端游标流式读取，不需要 id_gt 分页。</p>
+ *
+ * <p>字段选择集只支持两层：{@code x { id }} 直接取外键列，其余嵌套字段 LEFT JOIN 同名实体表。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphNodeEntityReader {
+
+    /**
+     * 新版 graph-node 把链头放在 subgraphs.head，旧版在 subgraph_deployment 上
+     */
+    private static final List<String> HEAD_QUERIES = List.of(
+            "SELECT h.block_number FROM subgraphs.head h "
+                    + "JOIN public.deployment_schemas s ON s.id = h.id WHERE s.name = ?",
+            "SELECT d.latest_ethereum_block_number FROM subgraphs.subgraph_deployment d "
+                    + "JOIN public.deployment_schemas s ON s.id = d.id WHERE s.name = ?"
+    );
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final GraphNodeDataSource graphNodeDataSource;
+
+    /**
+     * 读取整张实体表，每 {@code batchSize} 行回调一次
+     *
+     * @return 读取开始前部署的索引高度 {@code {"number": n}}；无法确定时为 null
+     */
+    public JsonNode read(SubgraphEntitySpec spec, String schema, int batchSize, Consumer<ArrayNode> onPage) {
+        GraphNodeNames.checkSchema(schema);
+        String table = GraphNodeNames.snakeCase(spec.getTypeName());
+        List<Field> fields = parseFields(spec.getFields());
+
+        try (Connection connection = graphNodeDataSource.getDataSource().getConnection()) {
+            // 先读链头再开快照：快照至少包含到链头为止的数据，增量同步从链头继续不会漏
+            JsonNode head = headBlock(connection, schema);
+
+            String sql = selectSql(connection, schema, table, fields);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(batchSize);
+                try (ResultSet rs = statement.executeQuery()) {
+                    int[] types = columnTypes(rs.getMetaData());
+                    ArrayNode page = NODES.arrayNode();
+                    while (rs.next()) {
+                        page.add(toNode(rs, types, fields));
+                        if (page.size() >= batchSize) {
+                            onPage.accept(page);
+                            page = NODES.arrayNode();
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        onPage.accept(page);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return head;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read " + schema + "." + table + " from graph-node: " + e.getMessage(), e);
+        }
+    }
+
+    private String selectSql(Connection connection, String schema, String table, List<Field> fields) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        List<String> joins = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            String column = GraphNodeNames.quote(GraphNodeNames.snakeCase(field.name));
+            if (!field.joined()) {
+                columns.add("e." + column);
+                continue;
+            }
+            String alias = "j" + i;
+            String joinTable = GraphNodeNames.snakeCase(field.name);
+            for (String sub : field.subfields) {
+                columns.add(alias + "." + GraphNodeNames.quote(GraphNodeNames.snakeCase(sub)));
+            }
+            joins.add(" LEFT JOIN " + GraphNodeNames.quote(schema) + "." + GraphNodeNames.quote(joinTable) + " " + alias
+                    + " ON " + alias + ".\"id\" = e." + column
+                    + (isMutable(connection, schema, joinTable) ? " AND upper_inf(" + alias + ".block_range)" : ""));
+        }
+
+        return "SELECT " + String.join(", ", columns)
+                + " FROM " + GraphNodeNames.quote(schema) + "." + GraphNodeNames.quote(table) + " e"
+                + String.join("", joins)
+                + (isMutable(connection, schema, table) ? " WHERE upper_inf(e.block_range)" : "");
+    }
+
+    /**
+     * 可变实体有 block_range 列，同一 id 的历史版本共存；不可变实体每个 id 只有一行
+     */
+    private static boolean isMutable(Connection connection, String schema, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.columns WHERE table_schema = ? AND table_name = ? AND column_name = 'block_range'")) {
+            statement.setString(1, schema);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static JsonNode headBlock(Connection connection, String schema) {
+        for (String sql : HEAD_QUERIES) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, schema);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        long number = rs.getLong(1);
+                        if (!rs.wasNull()) {
+                            return NODES.objectNode().put("number", number);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                log.debug("graph-node head query failed for {}: {}", schema, e.getMessage());
+            }
+        }
+        log.warn("Could not determine indexed head for graph-node schema {}", schema);
+        return null;
+    }
+
+    private static int[] columnTypes(ResultSetMetaData metaData) throws SQLException {
+        int[] types = new int[metaData.getColumnCount()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        return types;
+    }
+
+    private static ObjectNode toNode(ResultSet rs, int[] types, List<Field> fields) throws SQLException {
+        ObjectNode node = NODES.objectNode();
+        int index = 1;
+        for (Field field : fields) {
+            if (field.subfields == null) {
+                node.set(field.name, value(rs, index, types[index - 1]));
+                index++;
+            } else if (!field.joined()) {
+                JsonNode id = value(rs, index, types[index - 1]);
+                node.set(field.name, id.isNull() ? id : NODES.objectNode().set("id", id));
+                index++;
+            } else {
+                ObjectNode nested = NODES.objectNode();
+                for (String sub : field.subfields) {
+                    nested.set(sub, value(rs, index, types[index - 1]));
+                    index++;
+                }
+                node.set(field.name, nested.path("id").isNull() ? NullNode.getInstance() : nested);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 与 GraphQL 序列化保持一致：BigInt/BigDecimal/Int8 为字符串，Int 为数字，Bytes 为 0x 开头的十六进制
+     */
+    private static JsonNode value(ResultSet rs, int index, int sqlType) throws SQLException {
+        switch (sqlType) {
+            case Types.NUMERIC, Types.DECIMAL -> {
+                BigDecimal decimal = rs.getBigDecimal(index);
+                return decimal == null ? NullNode.getInstance() : TextNode.valueOf(decimal.toPlainString());
+            }
+            case Types.INTEGER, Types.SMALLINT -> {
+                int number = rs.getInt(index);
+                return rs.wasNull() ? NullNode.getInstance() : IntNode.valueOf(number);
+            }
+            case Types.BOOLEAN, Types.BIT -> {
+                boolean flag = rs.getBoolean(index);
+                return rs.wasNull() ? NullNode.getInstance() : BooleanNode.valueOf(flag);
+            }
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> {
+                byte[] bytes = rs.getBytes(index);
+                return bytes == null ? NullNode.getInstance() : TextNode.valueOf("0x" + HexFormat.of().formatHex(bytes));
+            }
+            default -> {
+                String text = rs.getString(index);
+                return text == null ? NullNode.getInstance() : TextNode.valueOf(text);
+            }
+        }
+    }
+
+    /**
+     * 解析 GraphQL 选择集，如 {@code id transaction { id blockNumber } pair { id }}
+     */
+    static List<Field> parseFields(String selection) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : selection.replace("{", " { ").replace("}", " } ").trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String name = tokens.get(i);
+            if (i + 1 < tokens.size() && tokens.get(i + 1).equals("{")) {
+                List<String> subfields = new ArrayList<>();
+                i += 2;
+                while (i < tokens.size() && !tokens.get(i).equals("}")) {
+                    if (tokens.get(i).equals("{")) {
+                        throw new IllegalArgumentException("Nested selections deeper than one level are not supported: " + name);
+                    }
+                    subfields.add(tokens.get(i++));
+                }
+                fields.add(new Field(name, subfields));
+            } else {
+                fields.add(new Field(name, null));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @param subfields 标量字段为 null
+     */
+    record Field(String name, List<String> subfields) {
+
+        boolean joined() {
+            return subfields != null && !(subfields.size() == 1 && subfields.get(0).equals("id"));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.dripswap.bff.sync;
+
+import java.util.regex.Pattern;
+
+/**
+ * graph-node 关系型存储的命名规则
+ * 实体类型与字段名按 snake_case 映射为表名/列名（{@code TokenMinuteData → token_minute_data}，
+ * {@code token0Price → token_0_price}，{@code volumeUSD → volume_usd}），每个部署位于独立 schema（{@code sgdN}）
+ */
+final class GraphNodeNames {
+
+    private static final Pattern SCHEMA = Pattern.compile("^[a-z_][a-z0-9_]*$");
+
+    private GraphNodeNames() {
+    }
+
+    static String snakeCase(String name) {
+        StringBuilder out = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0) {
+                char prev = name.charAt(i - 1);
+                boolean nextLower = i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+                boolean boundary = Character.isUpperCase(c)
+                        && (Character.isLowerCase(prev) || Character.isDigit(prev) || (Character.isUpperCase(prev) && nextLower));
+                boundary |= Character.isDigit(c) && Character.isLetter(prev);
+                boundary |= Character.isLetter(c) && Character.isDigit(prev);
+                if (boundary) {
+                    out.append('_');
+                }
+            }
+            out.append(Character.toLowerCase(c));
+        }
+        return out.toString();
+    }
+
+    static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * schema 名来自配置，拼进 SQL 前必须校验
+     */
+    static String checkSchema(String schema) {
+        if (schema == null || !SCHEMA.matcher(schema).matches()) {
+            throw new IllegalArgumentException("Invalid graph-node schema name: " + schema);
+        }
+        return schema;
+    }
+}
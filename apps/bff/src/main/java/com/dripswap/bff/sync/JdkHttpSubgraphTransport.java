@@ -0,0 +1,221 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphHttpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 基于 JDK HttpClient 的传输实现
+ *
+ * <p>单个共享 HttpClient：连接池 + keep-alive，可协商 HTTP/2 多路复用；
+ * 请求 {@code Accept-Encoding: gzip} 并在本地解压；每个 graph-node 主机一个信号量，
+ * 许可在响应流关闭时归还，因此流式解析期间连接也计入在途数。</p>
+ *
+ * <p>{@code request-timeout-ms} 同时是响应头的等待上限和响应体的空闲上限：HttpClient 的请求超时只管到响应头，
+ * 响应体由看门狗线程检查，超过该时长没有读到新字节就关闭底层流（阻塞中的 read 随即抛出 {@link HttpTimeoutException}）
+ * 并归还许可。</p>
+ */
+@Slf4j
+@Component
+public class JdkHttpSubgraphTransport implements SubgraphTransport {
+
+    private static final ScheduledExecutorService BODY_WATCHDOG =
+            Executors.newSingleThreadScheduledExecutor(SyncThreads.named("subgraph-body-watchdog"));
+
+    private final SubgraphHttpProperties properties;
+    private final HttpClient httpClient;
+    private final Map<String, Semaphore> inFlightByHost = new ConcurrentHashMap<>();
+
+    public JdkHttpSubgraphTransport(SubgraphHttpProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public InputStream post(String endpoint, byte[] jsonBody) throws IOException {
+        URI uri = URI.create(endpoint);
+        Semaphore permits = inFlightByHost.computeIfAbsent(
+                uri.getScheme() + "://" + uri.getAuthority(),
+                host -> new Semaphore(Math.max(1, properties.getMaxInFlightPerHost()), true)
+        );
+
+        acquire(permits, endpoint);
+        boolean handedOff = false;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(properties.getRequestTimeoutMs()))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .header("Accept-Encoding", "gzip");
+
+            byte[] body = jsonBody;
+            if (properties.isGzipRequests()) {
+                body = gzip(jsonBody);
+                request.header("Content-Encoding", "gzip");
+            }
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+
+            HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            // 此后许可由 body 负责归还
+            GuardedBody guarded = new GuardedBody(response.body(), permits, endpoint, properties.getRequestTimeoutMs());
+            handedOff = true;
+            InputStream in = guarded;
+            if ("gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(""))) {
+                try {
+                    in = new GZIPInputStream(guarded);
+                } catch (IOException e) {
+                    guarded.close();
+                    throw e;
+                }
+            }
+
+            if (response.statusCode() / 100 != 2) {
+                String snippet;
+                try (InputStream error = in) {
+                    snippet = new String(error.readNBytes(512), StandardCharsets.UTF_8);
+                }
+                throw new IOException("HTTP request failed: " + response.statusCode() + " " + snippet);
+            }
+
+            return in;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + endpoint);
+        } finally {
+            if (!handedOff) {
+                permits.release();
+            }
+        }
+    }
+
+    private void acquire(Semaphore permits, String endpoint) throws IOException {
+        try {
+            if (!permits.tryAcquire(properties.getRequestTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for an in-flight slot for " + endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an in-flight slot for " + endpoint);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 响应体：读到字节即刷新进度，空闲超时由看门狗关闭底层流；关闭或超时时归还在途许可（只归还一次）
+     */
+    private static final class GuardedBody extends FilterInputStream {
+
+        private final Semaphore permits;
+        private final String endpoint;
+        private final long timeoutMs;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private final ScheduledFuture<?> watchdog;
+        private volatile long lastProgressNanos = System.nanoTime();
+        private volatile boolean timedOut;
+
+        private GuardedBody(InputStream in, Semaphore permits, String endpoint, long timeoutMs) {
+            super(in);
+            this.permits = permits;
+            this.endpoint = endpoint;
+            this.timeoutMs = timeoutMs;
+            long periodMs = Math.max(50, timeoutMs / 4);
+            this.watchdog = BODY_WATCHDOG.scheduleWithFixedDelay(this::checkProgress, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b >= 0) {
+                    lastProgressNanos = System.nanoTime();
+                }
+                return b;
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    lastProgressNanos = System.nanoTime();
+                }
+                return n;
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+
+        private void checkProgress() {
+            if (System.nanoTime() - lastProgressNanos < TimeUnit.MILLISECONDS.toNanos(timeoutMs)) {
+                return;
+            }
+            timedOut = true;
+            log.warn("Response body from {} stalled for {} ms, aborting", endpoint, timeoutMs);
+            try {
+                close();
+            } catch (IOException e) {
+                log.debug("Closing stalled response body from {} failed", endpoint, e);
+            }
+        }
+
+        private IOException translate(IOException e) {
+            if (!timedOut) {
+                return e;
+            }
+            HttpTimeoutException timeout = new HttpTimeoutException("Response body from " + endpoint + " stalled for " + timeoutMs + " ms");
+            timeout.initCause(e);
+            return timeout;
+        }
+    }
+}
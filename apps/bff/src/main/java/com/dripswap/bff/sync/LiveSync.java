@@ -0,0 +1,36 @@
+package com.dripswap.bff.sync;
+
+/**
+ * 标记当前线程正在写增量同步的页
+ *
+ * <p>{@link SwapsCommittedEvent} / {@link CandleSourceCommittedEvent} 只推给实时订阅者，全量同步和回填写的是历史数据，
+ * 不应发布；handler 不知道自己被哪条路径调用，由 {@link SubgraphDeltaSyncService} 在落库时用 {@link #open()} 标记。</p>
+ */
+final class LiveSync {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private LiveSync() {
+    }
+
+    static Scope open() {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        };
+    }
+
+    static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -2,8 +2,6 @@ package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.Mint;
 import com.dripswap.bff.entity.Transaction;
-import com.dripswap.bff.repository.MintRepository;
-import com.dripswap.bff.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,14 +17,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MintSyncHandler {
 
-    private final MintRepository mintRepository;
-    private final TransactionRepository transactionRepository;
+    static final BulkUpsertTable<Mint> MINTS = BulkUpsertTable.<Mint>builder("mints")
+            .column("id", Mint::getId)
+            .column("chain_id", Mint::getChainId)
+            .column("transaction_id", Mint::getTransactionId)
+            .column("timestamp", Mint::getTimestamp)
+            .column("pair_id", Mint::getPairId)
+            .column("to_address", Mint::getToAddress)
+            .column("liquidity", Mint::getLiquidity)
+            .column("sender", Mint::getSender)
+            .column("amount0", Mint::getAmount0)
+            .column("amount1", Mint::getAmount1)
+            .column("log_index", Mint::getLogIndex)
+            .column("amount_usd", Mint::getAmountUsd)
+            .column("fee_to", Mint::getFeeTo)
+            .column("fee_liquidity", Mint::getFeeLiquidity)
+            .partitionedBy("timestamp")
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
 
     @Transactional
     public void handleMints(String chainId, JsonNode mintsNode) {
         if (mintsNode == null || !mintsNode.isArray()) {
             return;
         }
+        parseMints(chainId, mintsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseMints(String chainId, Iterable<JsonNode> mintsNode) {
+        if (mintsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Mint> mints = new ArrayList<>();
         List<Transaction> transactions = new ArrayList<>();
@@ -41,13 +67,19 @@ public class MintSyncHandler {
             }
         }
 
-        if (!transactions.isEmpty()) {
-            transactionRepository.saveAll(transactions);
-        }
-        if (!mints.isEmpty()) {
-            mintRepository.saveAll(mints);
-            log.info("Saved {} mints for chain: {}", mints.size(), chainId);
-        }
+        return ParsedPage.preparedBy(() -> {
+            bulkUpserter.prepare(TransactionSyncHandler.TRANSACTIONS, transactions);
+            bulkUpserter.prepare(MINTS, mints);
+        }, () -> {
+            if (!transactions.isEmpty()) {
+                bulkUpserter.upsert(TransactionSyncHandler.TRANSACTIONS, transactions);
+            }
+            if (!mints.isEmpty()) {
+                bulkUpserter.upsert(MINTS, mints);
+                log.info("Saved {} mints for chain: {}", mints.size(), chainId);
+            }
+            return mints.size();
+        });
     }
 
     private Transaction parseTransaction(String chainId, JsonNode node) {
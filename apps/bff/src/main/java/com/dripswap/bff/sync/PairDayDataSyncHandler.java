@@ -1,7 +1,6 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.PairDayData;
-import com.dripswap.bff.repository.PairDayDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,13 +16,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PairDayDataSyncHandler {
 
-    private final PairDayDataRepository pairDayDataRepository;
+    static final BulkUpsertTable<PairDayData> PAIR_DAY_DATA = BulkUpsertTable.<PairDayData>builder("pair_day_data")
+            .column("id", PairDayData::getId)
+            .column("chain_id", PairDayData::getChainId)
+            .column("date", PairDayData::getDate)
+            .column("pair_address", PairDayData::getPairAddress)
+            .column("token0_id", PairDayData::getToken0Id)
+            .column("token1_id", PairDayData::getToken1Id)
+            .column("reserve0", PairDayData::getReserve0)
+            .column("reserve1", PairDayData::getReserve1)
+            .column("total_supply", PairDayData::getTotalSupply)
+            .column("reserve_usd", PairDayData::getReserveUsd)
+            .column("daily_volume_token0", PairDayData::getDailyVolumeToken0)
+            .column("daily_volume_token1", PairDayData::getDailyVolumeToken1)
+            .column("daily_volume_usd", PairDayData::getDailyVolumeUsd)
+            .column("daily_txns", PairDayData::getDailyTxns)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
 
     @Transactional
     public void handlePairDayData(String chainId, JsonNode nodes) {
         if (nodes == null || !nodes.isArray()) {
             return;
         }
+        parsePairDayData(chainId, nodes).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parsePairDayData(String chainId, Iterable<JsonNode> nodes) {
+        if (nodes == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<PairDayData> rows = new ArrayList<>();
         for (JsonNode node : nodes) {
@@ -34,10 +62,13 @@ public class PairDayDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            pairDayDataRepository.saveAll(rows);
-            log.info("Saved {} pairDayData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(PAIR_DAY_DATA, rows);
+                log.info("Saved {} pairDayData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private PairDayData parseRow(String chainId, JsonNode node) {
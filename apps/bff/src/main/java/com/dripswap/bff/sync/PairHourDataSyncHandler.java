@@ -1,7 +1,6 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.PairHourData;
-import com.dripswap.bff.repository.PairHourDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,13 +16,40 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PairHourDataSyncHandler {
 
-    private final PairHourDataRepository pairHourDataRepository;
+    static final BulkUpsertTable<PairHourData> PAIR_HOUR_DATA = BulkUpsertTable.<PairHourData>builder("pair_hour_data")
+            .column("id", PairHourData::getId)
+            .column("chain_id", PairHourData::getChainId)
+            .column("hour_start_unix", PairHourData::getHourStartUnix)
+            .column("pair_id", PairHourData::getPairId)
+            .column("reserve0", PairHourData::getReserve0)
+            .column("reserve1", PairHourData::getReserve1)
+            .column("total_supply", PairHourData::getTotalSupply)
+            .column("reserve_usd", PairHourData::getReserveUsd)
+            .column("hourly_volume_token0", PairHourData::getHourlyVolumeToken0)
+            .column("hourly_volume_token1", PairHourData::getHourlyVolumeToken1)
+            .column("hourly_volume_usd", PairHourData::getHourlyVolumeUsd)
+            .column("hourly_txns", PairHourData::getHourlyTxns)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
 
     @Transactional
     public void handlePairHourData(String chainId, JsonNode nodes) {
         if (nodes == null || !nodes.isArray()) {
             return;
         }
+        parsePairHourData(chainId, nodes).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parsePairHourData(String chainId, Iterable<JsonNode> nodes) {
+        if (nodes == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<PairHourData> rows = new ArrayList<>();
         for (JsonNode node : nodes) {
@@ -34,10 +60,13 @@ public class PairHourDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            pairHourDataRepository.saveAll(rows);
-            log.info("Saved {} pairHourData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(PAIR_HOUR_DATA, rows);
+                log.info("Saved {} pairHourData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private PairHourData parseRow(String chainId, JsonNode node) {
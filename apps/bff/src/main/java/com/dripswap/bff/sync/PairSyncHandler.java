@@ -27,6 +27,17 @@ public class PairSyncHandler {
         if (pairsNode == null || !pairsNode.isArray()) {
             return;
         }
+        parsePairs(chainId, pairsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parsePairs(String chainId, Iterable<JsonNode> pairsNode) {
+        if (pairsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Pair> pairs = new ArrayList<>();
 
@@ -38,10 +49,13 @@ public class PairSyncHandler {
             }
         }
 
-        if (!pairs.isEmpty()) {
-            pairRepository.saveAll(pairs);
-            log.info("Saved {} pairs for chain: {}", pairs.size(), chainId);
-        }
+        return () -> {
+            if (!pairs.isEmpty()) {
+                pairRepository.saveAll(pairs);
+                log.info("Saved {} pairs for chain: {}", pairs.size(), chainId);
+            }
+            return pairs.size();
+        };
     }
 
     private Pair parsePair(String chainId, JsonNode node) {
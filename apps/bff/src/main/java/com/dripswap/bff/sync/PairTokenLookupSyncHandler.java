@@ -23,6 +23,17 @@ public class PairTokenLookupSyncHandler {
         if (lookupsNode == null || !lookupsNode.isArray()) {
             return;
         }
+        parsePairTokenLookups(chainId, lookupsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parsePairTokenLookups(String chainId, Iterable<JsonNode> lookupsNode) {
+        if (lookupsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<PairTokenLookup> lookups = new ArrayList<>();
         for (JsonNode node : lookupsNode) {
@@ -33,10 +44,13 @@ public class PairTokenLookupSyncHandler {
             }
         }
 
-        if (!lookups.isEmpty()) {
-            pairTokenLookupRepository.saveAll(lookups);
-            log.info("Saved {} pairTokenLookups for chain: {}", lookups.size(), chainId);
-        }
+        return () -> {
+            if (!lookups.isEmpty()) {
+                pairTokenLookupRepository.saveAll(lookups);
+                log.info("Saved {} pairTokenLookups for chain: {}", lookups.size(), chainId);
+            }
+            return lookups.size();
+        };
     }
 
     private PairTokenLookup parseLookup(String chainId, JsonNode node) {
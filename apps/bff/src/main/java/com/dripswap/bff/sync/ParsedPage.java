@@ -0,0 +1,41 @@
+package com.dripswap.bff.sync;
+
+/**
+ * 已解析、待落库的一页子图数据
+ * 解析可在任意线程完成，{@link #prepare()} 在落库事务开始前调用，{@link #persist()} 需在事务内调用
+ */
+@FunctionalInterface
+public interface ParsedPage {
+
+    ParsedPage EMPTY = () -> 0;
+
+    /**
+     * 落库前的准备（如创建目标分区），调用时不得处于事务中
+     */
+    default void prepare() {
+    }
+
+    /**
+     * 写入数据库
+     *
+     * @return 写入的主实体行数
+     */
+    int persist();
+
+    /**
+     * 给 {@code page} 加上落库前的准备步骤
+     */
+    static ParsedPage preparedBy(Runnable prepare, ParsedPage page) {
+        return new ParsedPage() {
+            @Override
+            public void prepare() {
+                prepare.run();
+            }
+
+            @Override
+            public int persist() {
+                return page.persist();
+            }
+        };
+    }
+}
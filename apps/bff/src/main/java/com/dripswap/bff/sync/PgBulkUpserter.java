@@ -0,0 +1,79 @@
+package com.dripswap.bff.sync;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PostgreSQL 批量 upsert
+ *
+ * <p>每批固定三次往返：建临时表（已存在则跳过）→ COPY 到临时表 → INSERT ... ON CONFLICT 合并。
+ * 取代 JPA saveAll 对复合主键实体逐行 SELECT + INSERT/UPDATE 的写法。
+ * 必须在事务内调用，使用当前事务绑定的连接。
+ * 分区表需在事务开始前调用 {@link #prepare} 建好目标分区（{@link ParsedPage#prepare()}），
+ * 否则行会落入 DEFAULT 分区，等定时维护搬走。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PgBulkUpserter {
+
+    private final DataSource dataSource;
+    private final EventPartitionMaintainer partitionMaintainer;
+
+    /**
+     * 确保分区表中 rows 所需的分区存在；非分区表不做任何事。必须在落库事务之外调用
+     */
+    public <T> void prepare(BulkUpsertTable<T> table, Collection<T> rows) {
+        if (table.getPartitionColumn() != null && rows != null && !rows.isEmpty()) {
+            partitionMaintainer.ensure(table, rows);
+        }
+    }
+
+    /**
+     * @return 插入或更新的行数
+     */
+    public <T> int upsert(BulkUpsertTable<T> table, Collection<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Bulk upsert into " + table.getName() + " requires an active transaction");
+        }
+
+        List<T> unique = table.dedupe(rows);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(table.createStageSql());
+            }
+
+            long copied = connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(table.copySql(), new StringReader(table.toCsv(unique)));
+
+            int merged;
+            try (Statement statement = connection.createStatement()) {
+                merged = statement.executeUpdate(table.mergeSql());
+            }
+            log.debug("Bulk upserted {} rows into {} ({} copied)", merged, table.getName(), copied);
+            return merged;
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk upsert into " + table.getName() + " failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
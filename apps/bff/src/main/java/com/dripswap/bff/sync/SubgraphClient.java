@@ -1,28 +1,38 @@
 package com.dripswap.bff.sync;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Subgraph HTTP 客户端
- * 负责调用 The Graph API 查询数据
+ * 负责调用 The Graph API 查询数据；HTTP 细节由 {@link SubgraphTransport} 负责
  */
 @Slf4j
 @Component
 public class SubgraphClient {
     
-    private final RestTemplate restTemplate;
+    private final SubgraphTransport transport;
+    private final SyncMetrics syncMetrics;
     private final ObjectMapper objectMapper;
     
-    public SubgraphClient() {
-        this.restTemplate = new RestTemplate();
+    public SubgraphClient(SubgraphTransport transport, SyncMetrics syncMetrics) {
+        this.transport = transport;
+        this.syncMetrics = syncMetrics;
         this.objectMapper = new ObjectMapper();
     }
     
@@ -35,40 +45,20 @@ public class SubgraphClient {
      * @return 查询结果 JSON
      */
     public JsonNode query(String endpoint, String query, Map<String, Object> variables) {
-        try {
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("query", query);
-            if (variables != null && !variables.isEmpty()) {
-                requestBody.put("variables", variables);
-            }
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                endpoint,
-                HttpMethod.POST,
-                request,
-                String.class
-            );
+        long startedAt = System.nanoTime();
+        try (InputStream in = transport.post(endpoint, requestBody(query, variables))) {
+            JsonNode root = objectMapper.readTree(in);
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                
-                // 检查 GraphQL 错误
-                if (root.has("errors")) {
-                    log.error("GraphQL errors: {}", root.get("errors"));
-                    throw new RuntimeException("GraphQL query failed: " + root.get("errors"));
-                }
-                
-                return root.get("data");
-            } else {
-                throw new RuntimeException("HTTP request failed: " + response.getStatusCode());
+            // 检查 GraphQL 错误
+            if (root.has("errors")) {
+                log.error("GraphQL errors: {}", root.get("errors"));
+                throw new RuntimeException("GraphQL query failed: " + root.get("errors"));
             }
             
+            syncMetrics.recordRequest(System.nanoTime() - startedAt, true);
+            return root.get("data");
         } catch (Exception e) {
+            syncMetrics.recordRequest(System.nanoTime() - startedAt, false);
             log.error("Subgraph query failed: endpoint={}, error={}", endpoint, e.getMessage(), e);
             throw new RuntimeException("Subgraph query failed", e);
         }
@@ -89,4 +79,216 @@ public class SubgraphClient {
         variables.put("skip", skip);
         return query(endpoint, query, variables);
     }
+    
+    /**
+     * 按 id_gt 游标顺序拉取全部分页
+     * 每拉到一页立即回调 pageConsumer；回调阻塞时停止拉取，由调用方实现背压
+     * 
+     * @param endpoint Subgraph endpoint
+     * @param query GraphQL 查询 (需包含 $first 和 $lastId 变量，按 id 升序)
+     * @param collection 结果中的实体列表字段
+     * @param first 每页数量
+     * @param pageConsumer 接收每页完整的 data 节点（包括最后一页空页）
+     */
+    public void fetchKeysetPages(String endpoint, String query, String collection, int first, Consumer<JsonNode> pageConsumer) {
+        String lastId = "";
+        while (true) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("first", first);
+            variables.put("lastId", lastId);
+            JsonNode data = query(endpoint, query, variables);
+            pageConsumer.accept(data);
+            
+            JsonNode nodes = data.get(collection);
+            if (nodes == null || !nodes.isArray() || nodes.size() < first) {
+                return;
+            }
+            lastId = nodes.get(nodes.size() - 1).get("id").asText();
+        }
+    }
+    
+    /**
+     * 流式执行 GraphQL 查询
+     * 直接在响应 InputStream 上用 JsonParser 解析，collection 数组的每个元素读出后立即交给 rowsHandler，
+     * 不缓冲整个响应字符串，也不构建整页 JsonNode 树
+     * 
+     * @param collection data 下需要流式处理的实体列表字段
+     * @param rowsHandler 接收只能遍历一次的行序列，返回值放入结果
+     * @return 处理结果与分页信息
+     */
+    public <R> SubgraphStreamedPage<R> streamQuery(
+            String endpoint,
+            String query,
+            Map<String, Object> variables,
+            String collection,
+            Function<Iterable<JsonNode>, R> rowsHandler
+    ) {
+        long startedAt = System.nanoTime();
+        try (InputStream in = transport.post(endpoint, requestBody(query, variables));
+             JsonParser parser = objectMapper.createParser(in)) {
+            SubgraphStreamedPage<R> page = readStreamed(parser, collection, rowsHandler);
+            // 流式模式下包含边读边解析的时间
+            syncMetrics.recordRequest(System.nanoTime() - startedAt, true);
+            return page;
+        } catch (Exception e) {
+            syncMetrics.recordRequest(System.nanoTime() - startedAt, false);
+            log.error("Subgraph streaming query failed: endpoint={}, error={}", endpoint, e.getMessage(), e);
+            throw new RuntimeException("Subgraph query failed", e);
+        }
+    }
+    
+    /**
+     * 按 id_gt 游标流式拉取全部分页，每页处理完成后回调 pageConsumer
+     */
+    public <R> void streamKeysetPages(
+            String endpoint,
+            String query,
+            String collection,
+            int first,
+            Function<Iterable<JsonNode>, R> rowsHandler,
+            Consumer<SubgraphStreamedPage<R>> pageConsumer
+    ) {
+        String lastId = "";
+        while (true) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("first", first);
+            variables.put("lastId", lastId);
+            SubgraphStreamedPage<R> page = streamQuery(endpoint, query, variables, collection, rowsHandler);
+            pageConsumer.accept(page);
+            
+            if (page.getRows() < first) {
+                return;
+            }
+            lastId = page.getLastId();
+        }
+    }
+    
+    private byte[] requestBody(String query, Map<String, Object> variables) throws IOException {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("query", query);
+        if (variables != null && !variables.isEmpty()) {
+            requestBody.put("variables", variables);
+        }
+        return objectMapper.writeValueAsBytes(requestBody);
+    }
+    
+    private <R> SubgraphStreamedPage<R> readStreamed(
+            JsonParser parser,
+            String collection,
+            Function<Iterable<JsonNode>, R> rowsHandler
+    ) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Unexpected subgraph response: expected JSON object");
+        }
+        
+        ObjectNode data = objectMapper.createObjectNode();
+        RowStream rows = null;
+        R result = null;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            
+            if ("errors".equals(field)) {
+                JsonNode errors = parser.readValueAsTree();
+                log.error("GraphQL errors: {}", errors);
+                throw new RuntimeException("GraphQL query failed: " + errors);
+            }
+            if (!"data".equals(field) || value != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (name.equals(collection) && token == JsonToken.START_ARRAY) {
+                    rows = new RowStream(parser);
+                    result = rowsHandler.apply(rows);
+                    rows.drain();
+                } else {
+                    data.set(name, parser.readValueAsTree());
+                }
+            }
+        }
+        
+        if (rows == null) {
+            result = rowsHandler.apply(List.of());
+            return new SubgraphStreamedPage<>(result, 0, null, data);
+        }
+        return new SubgraphStreamedPage<>(result, rows.count, rows.lastId, data);
+    }
+    
+    /**
+     * 位于数组起始处的 JsonParser 上的单次遍历行序列，每次只物化一行
+     */
+    private static final class RowStream implements Iterable<JsonNode>, Iterator<JsonNode> {
+        
+        private final JsonParser parser;
+        private boolean iterated;
+        private boolean finished;
+        private JsonToken pending;
+        private int count;
+        private String lastId;
+        
+        private RowStream(JsonParser parser) {
+            this.parser = parser;
+        }
+        
+        @Override
+        public Iterator<JsonNode> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("Streamed rows can only be iterated once");
+            }
+            iterated = true;
+            return this;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            if (pending == null) {
+                try {
+                    pending = parser.nextToken();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to read subgraph response", e);
+                }
+            }
+            if (pending == JsonToken.END_ARRAY || pending == null) {
+                finished = true;
+                return false;
+            }
+            return true;
+        }
+        
+        @Override
+        public JsonNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            pending = null;
+            try {
+                JsonNode row = parser.readValueAsTree();
+                count++;
+                JsonNode id = row.get("id");
+                if (id != null) {
+                    lastId = id.asText();
+                }
+                return row;
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read subgraph response", e);
+            }
+        }
+        
+        /**
+         * 处理函数未遍历完时读完剩余行，保证计数、游标和后续字段正确
+         */
+        private void drain() {
+            while (hasNext()) {
+                next();
+            }
+        }
+    }
 }
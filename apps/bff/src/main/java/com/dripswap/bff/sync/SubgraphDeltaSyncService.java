@@ -1,16 +1,46 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.config.SubgraphDeltaSyncProperties;
+import com.dripswap.bff.config.SubgraphProperties;
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
- * Delta sync service placeholder.
+ * Incremental (delta) subgraph sync.
+ *
+ * <p>Each entity type keeps a cursor in {@code sync_status}: {@code last_synced_block} is the block
+ * up to which every change has been applied, {@code last_synced_id} is the keyset position inside
+ * the scan currently in progress, and {@code scan_head_block}/{@code scan_head_timestamp} record
+ * the indexed head seen when that scan started. A scan pages through
+ * {@code _change_block: { number_gte: last_synced_block }} ordered by id; once it reaches the end
+ * the head is promoted to {@code last_synced_block}, so the next scan only sees newer changes.
  *
- * <p>The repo currently uses {@link SubgraphSyncService} for full sync. Some environments may
- * configure {@code subgraph.delta.*} for an incremental sync strategy; this class keeps the wiring
- * point so the project can evolve without breaking config compatibility.
+ * <p>Work per tick is bounded by {@code subgraph.delta.batch-size}, {@code max-pages-per-tick}
+ * (per entity type) and {@code max-total-records-per-tick} (per chain). A chain with backlog is
+ * ticked again immediately; an idle chain backs off along {@code interval-schedule-seconds}.
+ *
+ * <p>The loop runs on its own {@code subgraph-delta} thread rather than Spring's shared scheduler:
+ * a tick can spend a long time on subgraph requests and page writes, and the cheap
+ * {@code @Scheduled} jobs (cache invalidation flush, metrics, partition maintenance) must not queue
+ * behind it.
  */
 @Slf4j
 @Service
@@ -18,26 +48,268 @@ import org.springframework.stereotype.Service;
 public class SubgraphDeltaSyncService {
 
     private final SubgraphDeltaSyncProperties properties;
+    private final SubgraphProperties subgraphProperties;
+    private final SubgraphClient subgraphClient;
+    private final SubgraphEntityCatalog entityCatalog;
+    private final SyncStatusRepository syncStatusRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SubgraphSyncService subgraphSyncService;
+    private final SyncMetrics syncMetrics;
+
+    private final Map<String, ChainSchedule> schedules = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService loop = Executors.newSingleThreadScheduledExecutor(SyncThreads.named("subgraph-delta"));
 
     public boolean isEnabled() {
         return properties.isEnabled();
     }
 
     /**
-     * No-op tick. Intentionally does not trigger any sync by default.
-     * Implement real delta sync when the exact cursor model is confirmed.
+     * Starts the delta loop once the application is up; ticks are {@code subgraph.delta.tick-ms} apart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long tickMs = Math.max(1L, properties.getTickMs());
+        loop.scheduleWithFixedDelay(this::safeTick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Delta sync loop started, tick every {} ms", tickMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loop.shutdownNow();
+    }
+
+    private void safeTick() {
+        // An exception escaping here would cancel the periodic task for good.
+        try {
+            tick();
+        } catch (Exception e) {
+            log.error("Delta sync tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loop entry point. Runs every chain whose backoff window has elapsed.
      */
     public void tick() {
         if (!properties.isEnabled()) {
             return;
         }
-        log.debug(
-                "Subgraph delta sync enabled but not implemented (tickMs={}, batchSize={}, maxPagesPerTick={}, maxTotalRecordsPerTick={})",
-                properties.getTickMs(),
-                properties.getBatchSize(),
-                properties.getMaxPagesPerTick(),
-                properties.getMaxTotalRecordsPerTick()
-        );
+        if (subgraphSyncService.isRunning()) {
+            log.debug("Full sync in progress, skipping delta tick");
+            return;
+        }
+
+        for (SubgraphProperties.ChainConfig chain : subgraphProperties.getChains()) {
+            if (!chain.isEnabled()) {
+                continue;
+            }
+
+            ChainSchedule schedule = schedules.computeIfAbsent(chain.getId(), k -> new ChainSchedule());
+            if (System.currentTimeMillis() < schedule.nextRunAtMs) {
+                continue;
+            }
+
+            // Shared with full sync: a full sync started mid-tick waits until this chain's tick is done.
+            Lock lock = subgraphSyncService.chainLock(chain.getId());
+            if (!lock.tryLock()) {
+                log.debug("Full sync holds chain {}, skipping delta tick", chain.getId());
+                continue;
+            }
+            TickResult result;
+            try {
+                result = syncChain(chain);
+            } catch (Exception e) {
+                log.error("Delta sync failed for chain {}: {}", chain.getId(), e.getMessage(), e);
+                result = new TickResult(0, false);
+            } finally {
+                lock.unlock();
+            }
+            reschedule(schedule, result);
+        }
     }
-}
 
+    /**
+     * Wake a chain up immediately, e.g. when a websocket listener sees a new block.
+     */
+    public void onExternalSignal(String chainId) {
+        if (!properties.isEnabled() || !properties.isResetOnWsSignal()) {
+            return;
+        }
+        ChainSchedule schedule = schedules.computeIfAbsent(chainId, k -> new ChainSchedule());
+        schedule.idleTicks = 0;
+        schedule.nextRunAtMs = 0L;
+        log.debug("Delta sync for chain {} reset by external signal", chainId);
+    }
+
+    private TickResult syncChain(SubgraphProperties.ChainConfig chain) {
+        int recordBudget = Math.max(1, properties.getMaxTotalRecordsPerTick());
+        int total = 0;
+        boolean backlog = false;
+
+        for (SubgraphEntitySpec spec : entityCatalog.specs()) {
+            String endpoint = spec.endpointFor(chain);
+            if (endpoint == null) {
+                continue;
+            }
+            if (total >= recordBudget) {
+                backlog = true;
+                break;
+            }
+
+            EntityResult entity = syncEntity(chain, spec, endpoint, recordBudget - total);
+            total += entity.records;
+            backlog |= entity.hasMore;
+        }
+
+        if (total > 0) {
+            log.info("Delta sync applied {} records for chain {} (backlog={})", total, chain.getId(), backlog);
+        }
+        return new TickResult(total, backlog);
+    }
+
+    private EntityResult syncEntity(
+            SubgraphProperties.ChainConfig chain,
+            SubgraphEntitySpec spec,
+            String endpoint,
+            int recordBudget
+    ) {
+        String chainId = chain.getId();
+        SyncStatus status = loadStatus(chainId, spec.getEntityType());
+
+        long fromBlock = status.getLastSyncedBlock() == null ? chain.getStartBlock() : status.getLastSyncedBlock();
+        String lastId = status.getLastSyncedId() == null ? "" : status.getLastSyncedId();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int maxPages = Math.max(1, properties.getMaxPagesPerTick());
+
+        int pages = 0;
+        int records = 0;
+        boolean hasMore = true;
+        boolean failed = false;
+
+        try (SyncMetrics.Scope ignored = syncMetrics.bind(chainId)) {
+            while (pages < maxPages && records < recordBudget) {
+                int first = Math.min(batchSize, recordBudget - records);
+
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("first", first);
+                variables.put("lastId", lastId);
+                variables.put("fromBlock", fromBlock);
+                SubgraphStreamedPage<ParsedPage> streamed = subgraphClient.streamQuery(
+                        endpoint,
+                        spec.changedSinceQuery(),
+                        variables,
+                        spec.getCollection(),
+                        rows -> syncMetrics.parse(chainId, spec.getEntityType(), rows, spec.getParser())
+                );
+                pages++;
+
+                if (status.getScanHeadBlock() == null) {
+                    JsonNode block = streamed.getData().path("_meta").path("block");
+                    status.setScanHeadBlock(block.path("number").asLong(fromBlock));
+                    status.setScanHeadTimestamp(block.hasNonNull("timestamp") ? block.get("timestamp").asInt() : null);
+                }
+
+                int size = streamed.getRows();
+                if (size > 0) {
+                    ParsedPage page = streamed.getResult();
+                    page.prepare();
+                    try (LiveSync.Scope live = LiveSync.open()) {
+                        transactionTemplate.execute(tx -> page.persist());
+                    }
+                    records += size;
+                    lastId = streamed.getLastId();
+                    status.setLastSyncedId(lastId);
+                }
+
+                if (size < first) {
+                    // Scan reached the end: everything up to the scan head is now applied.
+                    status.setLastSyncedBlock(status.getScanHeadBlock());
+                    status.setLastSyncedTimestamp(status.getScanHeadTimestamp());
+                    status.setLastSyncedId(null);
+                    status.setScanHeadBlock(null);
+                    status.setScanHeadTimestamp(null);
+                    hasMore = false;
+                    break;
+                }
+            }
+
+            if (records > 0) {
+                spec.synced(chainId);
+            }
+            status.setSyncStatus(hasMore ? "syncing" : "completed");
+            status.setErrorMessage(null);
+        } catch (Exception e) {
+            hasMore = false;
+            failed = true;
+            status.setSyncStatus("failed");
+            status.setErrorMessage(e.getMessage());
+            log.error(
+                    "Delta sync failed: chain={}, entityType={}, fromBlock={}, lastId={}, error={}",
+                    chainId,
+                    spec.getEntityType(),
+                    fromBlock,
+                    lastId,
+                    e.getMessage(),
+                    e
+            );
+        } finally {
+            status.setSyncEndTime(LocalDateTime.now());
+            syncStatusRepository.save(status);
+            syncMetrics.recordStep("delta", chainId, spec.getEntityType(), !failed);
+            syncMetrics.watermark(chainId, spec.getEntityType(), status.getLastSyncedTimestamp());
+        }
+
+        if (records > 0) {
+            log.debug("Delta synced {} {} for chain {} in {} pages", records, spec.getEntityType(), chainId, pages);
+        }
+        return new EntityResult(records, hasMore);
+    }
+
+    private SyncStatus loadStatus(String chainId, String entityType) {
+        String key = chainId + ":" + entityType;
+        return syncStatusRepository.findById(key).orElseGet(() -> {
+            SyncStatus created = new SyncStatus();
+            created.setKey(key);
+            created.setChainId(chainId);
+            created.setEntityType(entityType);
+            created.setSyncStartTime(LocalDateTime.now());
+            return created;
+        });
+    }
+
+    private void reschedule(ChainSchedule schedule, TickResult result) {
+        long now = System.currentTimeMillis();
+        if (result.backlog) {
+            // Budget exhausted with data still pending: drain on the very next tick.
+            schedule.idleTicks = 0;
+            schedule.nextRunAtMs = now;
+            return;
+        }
+
+        if (result.records > 0 && properties.isResetOnChange()) {
+            schedule.idleTicks = 0;
+        } else {
+            schedule.idleTicks++;
+        }
+
+        List<Integer> intervals = properties.getIntervalScheduleSeconds();
+        long delayMs = intervals == null || intervals.isEmpty()
+                ? properties.getTickMs()
+                : intervals.get(Math.min(schedule.idleTicks, intervals.size() - 1)) * 1000L;
+        schedule.nextRunAtMs = now + delayMs;
+    }
+
+    private static class ChainSchedule {
+        private int idleTicks = 0;
+        private volatile long nextRunAtMs = 0L;
+    }
+
+    private record TickResult(int records, boolean backlog) {
+    }
+
+    private record EntityResult(int records, boolean hasMore) {
+    }
+}
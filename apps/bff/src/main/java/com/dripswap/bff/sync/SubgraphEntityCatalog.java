@@ -0,0 +1,333 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 子图实体目录
+ * 按依赖顺序列出所有需要同步的实体及其查询字段、endpoint 和解析器
+ * dependsOn 只声明真实的先后关系（如 tokens → pairs → pairTokenLookups，
+ * swaps/mints/burns 会写同一批 transactions 行，因此串行），其余实体可并行同步
+ */
+@Component
+public class SubgraphEntityCatalog {
+
+    private final List<SubgraphEntitySpec> specs;
+
+    public SubgraphEntityCatalog(
+            UniswapFactorySyncHandler uniswapFactorySyncHandler,
+            BundleSyncHandler bundleSyncHandler,
+            TokenSyncHandler tokenSyncHandler,
+            PairSyncHandler pairSyncHandler,
+            UserSyncHandler userSyncHandler,
+            TransactionSyncHandler transactionSyncHandler,
+            PairTokenLookupSyncHandler pairTokenLookupSyncHandler,
+            SwapSyncHandler swapSyncHandler,
+            MintSyncHandler mintSyncHandler,
+            BurnSyncHandler burnSyncHandler,
+            BridgeTransferSyncHandler bridgeTransferSyncHandler,
+            BridgeConfigEventSyncHandler bridgeConfigEventSyncHandler,
+            UniswapDayDataSyncHandler uniswapDayDataSyncHandler,
+            TokenMinuteDataSyncHandler tokenMinuteDataSyncHandler,
+            TokenHourDataSyncHandler tokenHourDataSyncHandler,
+            TokenRollingWindowSyncHandler tokenRollingWindowSyncHandler,
+            TokenDayDataSyncHandler tokenDayDataSyncHandler,
+            PairDayDataSyncHandler pairDayDataSyncHandler,
+            PairHourDataSyncHandler pairHourDataSyncHandler
+    ) {
+        this.specs = List.of(
+                // 1. 核心实体
+                v2("uniswapFactories", "uniswapFactories", "UniswapFactory", """
+                        id
+                        pairCount
+                        totalVolumeUSD
+                        totalVolumeETH
+                        untrackedVolumeUSD
+                        totalLiquidityUSD
+                        totalLiquidityETH
+                        txCount
+                        """, uniswapFactorySyncHandler::parseFactories),
+                v2("bundles", "bundles", "Bundle", """
+                        id
+                        ethPrice
+                        """, bundleSyncHandler::parseBundles).toBuilder()
+                        .onSynced(bundleSyncHandler::onBundlesSynced)
+                        .build(),
+                v2("tokens", "tokens", "Token", """
+                        id
+                        symbol
+                        name
+                        decimals
+                        totalSupply
+                        tradeVolume
+                        tradeVolumeUSD
+                        untrackedVolumeUSD
+                        txCount
+                        totalLiquidity
+                        derivedETH
+                        """, tokenSyncHandler::parseTokens),
+                v2("pairs", "pairs", "Pair", """
+                        id
+                        token0 { id }
+                        token1 { id }
+                        reserve0
+                        reserve1
+                        totalSupply
+                        reserveETH
+                        reserveUSD
+                        trackedReserveETH
+                        token0Price
+                        token1Price
+                        volumeToken0
+                        volumeToken1
+                        volumeUSD
+                        untrackedVolumeUSD
+                        txCount
+                        liquidityProviderCount
+                        createdAtTimestamp
+                        createdAtBlockNumber
+                        """, pairSyncHandler::parsePairs, "tokens"),
+                v2("users", "users", "User", """
+                        id
+                        """, userSyncHandler::parseUsers),
+                v2("transactions", "transactions", "Transaction", """
+                        id
+                        blockNumber
+                        timestamp
+                        """, transactionSyncHandler::parseTransactions),
+                v2("pairTokenLookups", "pairTokenLookups", "PairTokenLookup", """
+                        id
+                        pair { id }
+                        """, pairTokenLookupSyncHandler::parsePairTokenLookups, "pairs"),
+
+                // 2. 事件实体
+                v2("swaps", "swaps", "Swap", """
+                        id
+                        transaction { id blockNumber timestamp }
+                        timestamp
+                        pair { id }
+                        sender
+                        from
+                        to
+                        amount0In
+                        amount1In
+                        amount0Out
+                        amount1Out
+                        logIndex
+                        amountUSD
+                        """, swapSyncHandler::parseSwaps, "pairs", "transactions"),
+                v2("mints", "mints", "Mint", """
+                        id
+                        transaction { id blockNumber timestamp }
+                        timestamp
+                        pair { id }
+                        to
+                        liquidity
+                        sender
+                        amount0
+                        amount1
+                        logIndex
+                        amountUSD
+                        feeTo
+                        feeLiquidity
+                        """, mintSyncHandler::parseMints, "swaps"),
+                v2("burns", "burns", "Burn", """
+                        id
+                        transaction { id blockNumber timestamp }
+                        timestamp
+                        pair { id }
+                        sender
+                        liquidity
+                        amount0
+                        amount1
+                        to
+                        logIndex
+                        amountUSD
+                        feeTo
+                        feeLiquidity
+                        needsComplete
+                        """, burnSyncHandler::parseBurns, "mints"),
+
+                // 3. Bridge 实体
+                v2("bridgeTransfers", "bridgeTransfers", "BridgeTransfer", """
+                        id
+                        txHash
+                        blockNumber
+                        timestamp
+                        messageId
+                        sender
+                        token
+                        pool
+                        amount
+                        dstSelector
+                        receiverChainName
+                        receiver
+                        payInLink
+                        ccipFee
+                        serviceFeePaid
+                        """, bridgeTransferSyncHandler::parseBridgeTransfers),
+                v2("bridgeConfigEvents", "bridgeConfigEvents", "BridgeConfigEvent", """
+                        id
+                        eventName
+                        token
+                        pool
+                        minAmount
+                        maxAmount
+                        nativeAllowed
+                        linkAllowed
+                        newFee
+                        newCollector
+                        blockNumber
+                        timestamp
+                        transactionHash
+                        """, bridgeConfigEventSyncHandler::parseBridgeConfigEvents),
+
+                // 4. 时间聚合数据
+                v2("uniswapDayData", "uniswapDayDatas", "UniswapDayData", """
+                        id
+                        date
+                        dailyVolumeETH
+                        dailyVolumeUSD
+                        dailyVolumeUntracked
+                        totalVolumeETH
+                        totalVolumeUSD
+                        totalLiquidityETH
+                        totalLiquidityUSD
+                        txCount
+                        """, uniswapDayDataSyncHandler::parseUniswapDayData),
+                v2Tokens("tokenRollingWindows", "tokens", "Token", """
+                        id
+                        lastMinuteArchived
+                        lastHourArchived
+                        lastMinuteRecorded
+                        lastHourRecorded
+                        minuteArray
+                        hourArray
+                        """, tokenRollingWindowSyncHandler::parseTokenRollingWindows, "tokens"),
+                v2Tokens("tokenMinuteData", "tokenMinuteDatas", "TokenMinuteData", """
+                        id
+                        periodStartUnix
+                        token { id }
+                        volume
+                        volumeUSD
+                        untrackedVolumeUSD
+                        totalValueLocked
+                        totalValueLockedUSD
+                        priceUSD
+                        feesUSD
+                        open
+                        high
+                        low
+                        close
+                        """, tokenMinuteDataSyncHandler::parseTokenMinuteData, "tokens"),
+                v2Tokens("tokenHourData", "tokenHourDatas", "TokenHourData", """
+                        id
+                        periodStartUnix
+                        token { id }
+                        volume
+                        volumeUSD
+                        untrackedVolumeUSD
+                        totalValueLocked
+                        totalValueLockedUSD
+                        priceUSD
+                        feesUSD
+                        open
+                        high
+                        low
+                        close
+                        """, tokenHourDataSyncHandler::parseTokenHourData, "tokens"),
+                v2Tokens("tokenDayData", "tokenDayDatas", "TokenDayData", """
+                        id
+                        date
+                        token { id }
+                        dailyVolumeToken
+                        dailyVolumeETH
+                        dailyVolumeUSD
+                        dailyTxns
+                        totalLiquidityToken
+                        totalLiquidityETH
+                        totalLiquidityUSD
+                        priceUSD
+                        """, tokenDayDataSyncHandler::parseTokenDayData, "tokens"),
+                v2("pairDayData", "pairDayDatas", "PairDayData", """
+                        id
+                        date
+                        pairAddress
+                        token0 { id }
+                        token1 { id }
+                        reserve0
+                        reserve1
+                        totalSupply
+                        reserveUSD
+                        dailyVolumeToken0
+                        dailyVolumeToken1
+                        dailyVolumeUSD
+                        dailyTxns
+                        """, pairDayDataSyncHandler::parsePairDayData, "pairs"),
+                v2("pairHourData", "pairHourDatas", "PairHourData", """
+                        id
+                        hourStartUnix
+                        pair { id }
+                        reserve0
+                        reserve1
+                        totalSupply
+                        reserveUSD
+                        hourlyVolumeToken0
+                        hourlyVolumeToken1
+                        hourlyVolumeUSD
+                        hourlyTxns
+                        """, pairHourDataSyncHandler::parsePairHourData, "pairs")
+        );
+    }
+
+    /**
+     * 按依赖顺序返回全部实体
+     */
+    public List<SubgraphEntitySpec> specs() {
+        return specs;
+    }
+
+    private static SubgraphEntitySpec v2(
+            String entityType,
+            String collection,
+            String typeName,
+            String fields,
+            BiFunction<String, Iterable<JsonNode>, ParsedPage> parser,
+            String... dependsOn
+    ) {
+        return SubgraphEntitySpec.builder()
+                .entityType(entityType)
+                .collection(collection)
+                .typeName(typeName)
+                .fields(fields.strip())
+                .endpoint(SubgraphProperties.ChainConfig::getEndpointV2)
+                .graphSchema(SubgraphProperties.ChainConfig::getGraphSchemaV2)
+                .parser(parser)
+                .dependsOn(List.of(dependsOn))
+                .build();
+    }
+
+    private static SubgraphEntitySpec v2Tokens(
+            String entityType,
+            String collection,
+            String typeName,
+            String fields,
+            BiFunction<String, Iterable<JsonNode>, ParsedPage> parser,
+            String... dependsOn
+    ) {
+        return SubgraphEntitySpec.builder()
+                .entityType(entityType)
+                .collection(collection)
+                .typeName(typeName)
+                .fields(fields.strip())
+                .endpoint(SubgraphProperties.ChainConfig::getEndpointV2Tokens)
+                .graphSchema(SubgraphProperties.ChainConfig::getGraphSchemaV2Tokens)
+                .parser(parser)
+                .dependsOn(List.of(dependsOn))
+                .build();
+    }
+}
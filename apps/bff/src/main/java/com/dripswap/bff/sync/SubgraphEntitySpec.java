@@ -0,0 +1,113 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Describes how one subgraph entity collection is fetched and persisted.
+ *
+ * <p>{@code entityType} is the key used in {@code sync_status} ({@code {chainId}:{entityType}}),
+ * {@code collection} is the GraphQL root field, {@code typeName} the entity type it returns and
+ * {@code fields} is the selection set.</p>
+ */
+@Value
+@Builder(toBuilder = true)
+public class SubgraphEntitySpec {
+
+    String entityType;
+    String collection;
+    String typeName;
+    String fields;
+    Function<SubgraphProperties.ChainConfig, String> endpoint;
+
+    /**
+     * graph-node database schema ({@code sgdN}) of the deployment behind {@link #endpoint}.
+     */
+    Function<SubgraphProperties.ChainConfig, String> graphSchema;
+
+    /**
+     * Parses one page of {@code collection}; persisting the result must happen inside a transaction.
+     * Rows may be a {@link JsonNode} array or a single-pass stream from {@link SubgraphClient#streamQuery}.
+     */
+    BiFunction<String, Iterable<JsonNode>, ParsedPage> parser;
+
+    /**
+     * Entity types that must finish before this one starts within a chain.
+     */
+    List<String> dependsOn;
+
+    /**
+     * Optional chain-wide follow-up, run once after a full-sync step or a delta pass that wrote rows,
+     * outside any page transaction. Use it for work that would otherwise repeat on every page.
+     */
+    Consumer<String> onSynced;
+
+    /**
+     * Resolve the endpoint for the given chain, or {@code null} when it is not configured.
+     */
+    public String endpointFor(SubgraphProperties.ChainConfig chain) {
+        String url = endpoint.apply(chain);
+        return url == null || url.isBlank() ? null : url;
+    }
+
+    /**
+     * Resolve the graph-node schema for the given chain, or {@code null} when it is not configured.
+     */
+    public String graphSchemaFor(SubgraphProperties.ChainConfig chain) {
+        String schema = graphSchema.apply(chain);
+        return schema == null || schema.isBlank() ? null : schema;
+    }
+
+    /**
+     * Run {@link #onSynced} for the chain, if any.
+     */
+    public void synced(String chainId) {
+        if (onSynced != null) {
+            onSynced.accept(chainId);
+        }
+    }
+
+    /**
+     * Parse a page taken from a fully-read response tree; anything but an array is an empty page.
+     */
+    public ParsedPage parse(String chainId, JsonNode nodes) {
+        return nodes == null || !nodes.isArray() ? ParsedPage.EMPTY : parser.apply(chainId, nodes);
+    }
+
+    /**
+     * Keyset query over the whole collection, ordered by id.
+     * Also selects {@code _meta} so the caller learns the indexed head in the same round-trip.
+     */
+    public String keysetQuery() {
+        return """
+            query($first: Int!, $lastId: ID!) {
+              %s(first: $first, where: { id_gt: $lastId }, orderBy: id, orderDirection: asc) {
+                %s
+              }
+              _meta { block { number timestamp } }
+            }
+            """.formatted(collection, fields);
+    }
+
+    /**
+     * Keyset query over entities changed at or after {@code $fromBlock}, ordered by id.
+     * Also selects {@code _meta} so the caller learns the indexed head in the same round-trip.
+     */
+    public String changedSinceQuery() {
+        return """
+            query($first: Int!, $lastId: ID!, $fromBlock: Int!) {
+              %s(first: $first, where: { id_gt: $lastId, _change_block: { number_gte: $fromBlock } }, orderBy: id, orderDirection: asc) {
+                %s
+              }
+              _meta { block { number timestamp } }
+            }
+            """.formatted(collection, fields);
+    }
+}
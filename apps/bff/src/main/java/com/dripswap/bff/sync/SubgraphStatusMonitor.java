@@ -0,0 +1,192 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphProperties;
+import com.dripswap.bff.config.SubgraphStatusProperties;
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 子图状态轮询
+ *
+ * <p>每 {@code subgraph.status.poll-ms} 对每条启用链的各个 endpoint 查询一次
+ * {@code _meta { block { number timestamp } hasIndexingErrors }}，与 sync_status 中最慢实体的水位合并后缓存在内存，
+ * subgraphStatus 查询和 {@link SyncFreshnessHealthIndicator} 只读缓存，不会在请求线程上发起轮询。
+ * 应用就绪时先轮询一次，之后由定时任务接手。</p>
+ *
+ * <p>endpoint 请求失败时沿用上一次的头部高度，本地水位的落后程度仍可计算。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubgraphStatusMonitor {
+
+    private static final String META_QUERY = "{ _meta { block { number timestamp } hasIndexingErrors } }";
+
+    private final SubgraphProperties subgraphProperties;
+    private final SubgraphStatusProperties properties;
+    private final SubgraphEntityCatalog entityCatalog;
+    private final SubgraphClient subgraphClient;
+    private final SyncStatusRepository syncStatusRepository;
+    private final SyncMetrics syncMetrics;
+
+    private final ConcurrentMap<String, ChainStatus> statuses = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void pollOnStartup() {
+        poll();
+    }
+
+    @Scheduled(initialDelayString = "${subgraph.status.poll-ms:15000}", fixedDelayString = "${subgraph.status.poll-ms:15000}")
+    public void poll() {
+        for (SubgraphProperties.ChainConfig chain : subgraphProperties.getChains()) {
+            if (chain.isEnabled()) {
+                try {
+                    statuses.put(chain.getId(), check(chain));
+                } catch (Exception e) {
+                    log.warn("Subgraph status check failed for chain {}: {}", chain.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 最近一次检查结果；链未启用或尚未检查时为 null
+     */
+    public ChainStatus status(String chainId) {
+        return statuses.get(chainId);
+    }
+
+    public Map<String, ChainStatus> statuses() {
+        return Map.copyOf(statuses);
+    }
+
+    public boolean isEnabled(String chainId) {
+        return subgraphProperties.getChains().stream().anyMatch(chain -> chain.isEnabled() && chain.getId().equals(chainId));
+    }
+
+    private ChainStatus check(SubgraphProperties.ChainConfig chain) {
+        String chainId = chain.getId();
+        ChainStatus previous = statuses.get(chainId);
+
+        Set<String> endpoints = new LinkedHashSet<>();
+        for (SubgraphEntitySpec spec : entityCatalog.specs()) {
+            String endpoint = spec.endpointFor(chain);
+            if (endpoint != null) {
+                endpoints.add(endpoint);
+            }
+        }
+
+        Long headBlock = null;
+        Integer headTimestamp = null;
+        int indexingErrors = 0;
+        int unreachable = 0;
+        try (SyncMetrics.Scope ignored = syncMetrics.bind(chainId)) {
+            for (String endpoint : endpoints) {
+                try {
+                    JsonNode meta = subgraphClient.query(endpoint, META_QUERY, null).path("_meta");
+                    JsonNode block = meta.path("block");
+                    if (block.hasNonNull("number") && (headBlock == null || block.get("number").asLong() > headBlock)) {
+                        headBlock = block.get("number").asLong();
+                        headTimestamp = block.hasNonNull("timestamp") ? block.get("timestamp").asInt() : null;
+                    }
+                    if (meta.path("hasIndexingErrors").asBoolean(false)) {
+                        indexingErrors++;
+                    }
+                } catch (Exception e) {
+                    unreachable++;
+                }
+            }
+        }
+        if (headBlock == null && previous != null) {
+            headBlock = previous.headBlock();
+            headTimestamp = previous.headTimestamp();
+        }
+
+        Long syncedBlock = null;
+        Integer syncedTimestamp = null;
+        for (SyncStatus status : syncStatusRepository.findByChainId(chainId)) {
+            if (status.getLastSyncedBlock() != null && (syncedBlock == null || status.getLastSyncedBlock() < syncedBlock)) {
+                syncedBlock = status.getLastSyncedBlock();
+            }
+            if (status.getLastSyncedTimestamp() != null
+                    && (syncedTimestamp == null || status.getLastSyncedTimestamp() < syncedTimestamp)) {
+                syncedTimestamp = status.getLastSyncedTimestamp();
+            }
+        }
+
+        return new ChainStatus(chainId, syncedBlock, syncedTimestamp, headBlock, headTimestamp,
+                endpoints.size(), unreachable, indexingErrors, properties.getMaxLagSeconds(), Instant.now());
+    }
+
+    /**
+     * @param syncedBlock     sync_status 中最慢实体的 lastSyncedBlock
+     * @param headBlock       各 endpoint 中最高的 {@code _meta.block.number}
+     * @param unreachable     本次请求失败的 endpoint 数
+     * @param indexingErrors  {@code hasIndexingErrors=true} 的 endpoint 数
+     */
+    public record ChainStatus(
+            String chainId,
+            Long syncedBlock,
+            Integer syncedTimestamp,
+            Long headBlock,
+            Integer headTimestamp,
+            int endpoints,
+            int unreachable,
+            int indexingErrors,
+            long maxLagSeconds,
+            Instant checkedAt
+    ) {
+
+        /**
+         * 本地水位落后子图头部的秒数；任一方未知时为 null
+         */
+        public Long lagSeconds() {
+            return syncedTimestamp == null || headTimestamp == null ? null : Math.max(0L, (long) headTimestamp - syncedTimestamp);
+        }
+
+        /**
+         * 本实例的数据是否足够新（健康检查只看这一项，子图故障对所有实例相同，切换实例无济于事）
+         */
+        public boolean isFresh() {
+            Long lag = lagSeconds();
+            return lag != null && lag <= maxLagSeconds;
+        }
+
+        public boolean isHealthy() {
+            return isFresh() && unreachable == 0 && indexingErrors == 0;
+        }
+
+        public String message() {
+            if (syncedTimestamp == null) {
+                return "No entity has completed a sync yet";
+            }
+            if (headTimestamp == null) {
+                return "Subgraph head is unknown";
+            }
+            if (!isFresh()) {
+                return "Synced data is " + lagSeconds() + "s behind the subgraph head (max " + maxLagSeconds + "s)";
+            }
+            if (unreachable > 0) {
+                return unreachable + " of " + endpoints + " subgraph endpoints unreachable";
+            }
+            if (indexingErrors > 0) {
+                return indexingErrors + " of " + endpoints + " subgraphs report indexing errors";
+            }
+            return "OK";
+        }
+    }
+}
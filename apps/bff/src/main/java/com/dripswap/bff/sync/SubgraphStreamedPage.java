@@ -0,0 +1,32 @@
+package com.dripswap.bff.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Value;
+
+/**
+ * 流式查询的一页结果
+ * 实体行在读取时已交给调用方处理，这里只保留处理结果和分页所需的信息
+ */
+@Value
+public class SubgraphStreamedPage<R> {
+
+    /**
+     * 行处理函数的返回值
+     */
+    R result;
+
+    /**
+     * 本页实体行数
+     */
+    int rows;
+
+    /**
+     * 本页最后一行的 id，空页时为 null
+     */
+    String lastId;
+
+    /**
+     * data 下除实体列表外的其余字段（如 {@code _meta}）
+     */
+    JsonNode data;
+}
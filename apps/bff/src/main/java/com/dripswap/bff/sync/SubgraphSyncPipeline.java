@@ -0,0 +1,223 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 全量同步流水线：拉取 → 解析 → 落库
+ *
+ * <p>拉取线程按 id 游标顺序请求分页，解析结果按页序放入有界队列；
+ * 调用线程作为 writer 按顺序逐页先在事务外 {@link ParsedPage#prepare()}（建分区），再在事务中落库。队列满时拉取线程阻塞，
+ * 因此内存中最多保留 {@code pipeline-depth + 2} 页数据。</p>
+ *
+ * <p>{@code subgraph.streaming=true}（默认）时拉取线程在响应流上逐行解析，队列中只有实体批次；
+ * 关闭时先读出整页 JsonNode 树，再交给解析线程池。</p>
+ *
+ * <p>{@code subgraph.source=graph-node-db} 时拉取线程改为从 graph-node 数据库流式读取，其余阶段不变。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubgraphSyncPipeline {
+
+    private static final Future<ParsedPage> END_OF_STREAM = CompletableFuture.completedFuture(ParsedPage.EMPTY);
+
+    private final SubgraphClient subgraphClient;
+    private final SubgraphProperties subgraphProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final GraphNodeEntityReader graphNodeEntityReader;
+    private final SyncMetrics syncMetrics;
+
+    /**
+     * 同步单个实体的全部数据
+     *
+     * @return 第一页返回的 {@code _meta.block}，即扫描开始时的索引高度；子图未返回时为 null
+     */
+    public JsonNode run(String chainId, SubgraphEntitySpec spec, String endpoint, int batchSize) {
+        boolean streaming = subgraphProperties.isStreaming();
+        return execute(chainId, spec, !streaming, sink -> {
+            if (streaming) {
+                // 边读 socket 边解析，拉取线程直接产出实体批次
+                subgraphClient.streamKeysetPages(
+                        endpoint,
+                        spec.keysetQuery(),
+                        spec.getCollection(),
+                        batchSize,
+                        rows -> syncMetrics.parse(chainId, spec.getEntityType(), rows, spec.getParser()),
+                        page -> {
+                            sink.head(page.getData().path("_meta").path("block"));
+                            sink.parsed(page.getResult());
+                        });
+            } else {
+                subgraphClient.fetchKeysetPages(endpoint, spec.keysetQuery(), spec.getCollection(), batchSize, data -> {
+                    sink.head(data.path("_meta").path("block"));
+                    sink.parseLater(data.get(spec.getCollection()));
+                });
+            }
+        });
+    }
+
+    /**
+     * 从 graph-node 数据库读取单个实体的全部数据，读取线程组装 JsonNode，解析交给解析线程池
+     *
+     * @return 读取开始前部署的索引高度；无法确定时为 null
+     */
+    public JsonNode runFromGraphNode(String chainId, SubgraphEntitySpec spec, String schema, int batchSize) {
+        return execute(chainId, spec, true, sink -> sink.head(graphNodeEntityReader.read(spec, schema, batchSize, sink::parseLater)));
+    }
+
+    private JsonNode execute(String chainId, SubgraphEntitySpec spec, boolean parseInPool, PageProducer producer) {
+        String entityType = spec.getEntityType();
+        int depth = Math.max(1, subgraphProperties.getPipelineDepth());
+        int parserThreads = Math.max(1, subgraphProperties.getParserThreads());
+
+        ExecutorService fetcher = Executors.newSingleThreadExecutor(SyncThreads.named("subgraph-fetch-" + entityType));
+        ExecutorService parsers = parseInPool
+                ? Executors.newFixedThreadPool(parserThreads, SyncThreads.named("subgraph-parse-" + entityType))
+                : null;
+        PageSink sink = new PageSink(chainId, spec, new ArrayBlockingQueue<>(depth), parsers, syncMetrics);
+
+        try {
+            fetcher.execute(() -> {
+                try (SyncMetrics.Scope ignored = syncMetrics.bind(chainId)) {
+                    producer.produce(sink);
+                    sink.enqueue(END_OF_STREAM);
+                } catch (CancellationException e) {
+                    log.debug("Fetch of {} for chain {} cancelled", entityType, chainId);
+                } catch (Exception e) {
+                    try {
+                        sink.enqueue(CompletableFuture.failedFuture(e));
+                    } catch (CancellationException ignored) {
+                        // writer 已退出
+                    }
+                }
+            });
+
+            int pages = 0;
+            int rows = 0;
+            while (true) {
+                Future<ParsedPage> next = sink.queue.take();
+                if (next == END_OF_STREAM) {
+                    break;
+                }
+                ParsedPage page = await(next);
+                page.prepare();
+                Integer saved = transactionTemplate.execute(status -> page.persist());
+                rows += saved == null ? 0 : saved;
+                pages++;
+            }
+
+            log.info("{} sync completed for chain: {} ({} rows, {} pages)", entityType, chainId, rows, pages);
+            JsonNode head = sink.headBlock.get();
+            return head == null || head.isMissingNode() ? null : head;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while syncing " + entityType, e);
+        } finally {
+            sink.cancelled.set(true);
+            sink.queue.clear();
+            fetcher.shutdownNow();
+            if (parsers != null) {
+                parsers.shutdownNow();
+            }
+        }
+    }
+
+    private static ParsedPage await(Future<ParsedPage> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageProducer {
+        void produce(PageSink sink) throws Exception;
+    }
+
+    /**
+     * 拉取线程的输出端：页按产出顺序入队，writer 依次等待每页的解析结果
+     */
+    private static final class PageSink {
+
+        private final String chainId;
+        private final SubgraphEntitySpec spec;
+        private final BlockingQueue<Future<ParsedPage>> queue;
+        private final ExecutorService parsers;
+        private final SyncMetrics syncMetrics;
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicReference<JsonNode> headBlock = new AtomicReference<>();
+
+        private PageSink(
+                String chainId,
+                SubgraphEntitySpec spec,
+                BlockingQueue<Future<ParsedPage>> queue,
+                ExecutorService parsers,
+                SyncMetrics syncMetrics
+        ) {
+            this.chainId = chainId;
+            this.spec = spec;
+            this.queue = queue;
+            this.parsers = parsers;
+            this.syncMetrics = syncMetrics;
+        }
+
+        /**
+         * 只保留第一次上报的高度
+         */
+        void head(JsonNode block) {
+            if (block != null) {
+                headBlock.compareAndSet(null, block);
+            }
+        }
+
+        void parsed(ParsedPage page) {
+            enqueue(CompletableFuture.completedFuture(page));
+        }
+
+        void parseLater(JsonNode nodes) {
+            if (nodes == null || !nodes.isArray()) {
+                enqueue(CompletableFuture.completedFuture(ParsedPage.EMPTY));
+                return;
+            }
+            enqueue(parsers.submit(() -> syncMetrics.parse(chainId, spec.getEntityType(), nodes, spec.getParser())));
+        }
+
+        /**
+         * 放入有界队列；队列满时阻塞，writer 退出后抛出 CancellationException 结束拉取
+         */
+        void enqueue(Future<ParsedPage> item) {
+            try {
+                while (!queue.offer(item, 200, TimeUnit.MILLISECONDS)) {
+                    if (cancelled.get()) {
+                        throw new CancellationException();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+    }
+}
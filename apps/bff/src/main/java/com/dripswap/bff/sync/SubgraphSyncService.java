@@ -7,10 +7,21 @@ import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Subgraph 数据同步服务
@@ -21,94 +32,118 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SubgraphSyncService {
     
-    private final SubgraphClient subgraphClient;
     private final SubgraphProperties subgraphProperties;
     private final SyncStatusRepository syncStatusRepository;
-    private final UniswapFactorySyncHandler uniswapFactorySyncHandler;
-    private final BundleSyncHandler bundleSyncHandler;
-    private final TokenSyncHandler tokenSyncHandler;
-    private final TokenMinuteDataSyncHandler tokenMinuteDataSyncHandler;
-    private final TokenDayDataSyncHandler tokenDayDataSyncHandler;
-    private final TokenHourDataSyncHandler tokenHourDataSyncHandler;
-    private final PairSyncHandler pairSyncHandler;
-    private final PairTokenLookupSyncHandler pairTokenLookupSyncHandler;
-    private final UserSyncHandler userSyncHandler;
-    private final TransactionSyncHandler transactionSyncHandler;
-    private final SwapSyncHandler swapSyncHandler;
-    private final MintSyncHandler mintSyncHandler;
-    private final BurnSyncHandler burnSyncHandler;
-    private final BridgeTransferSyncHandler bridgeTransferSyncHandler;
-    private final BridgeConfigEventSyncHandler bridgeConfigEventSyncHandler;
-    private final UniswapDayDataSyncHandler uniswapDayDataSyncHandler;
-    private final PairDayDataSyncHandler pairDayDataSyncHandler;
-    private final PairHourDataSyncHandler pairHourDataSyncHandler;
+    private final SubgraphEntityCatalog entityCatalog;
+    private final SubgraphSyncPipeline syncPipeline;
+    private final SyncMetrics syncMetrics;
+
+    // 正在执行的全量同步数量，增量同步据此让路
+    private final AtomicInteger activeRuns = new AtomicInteger();
+
+    // 每条链一把锁，全量同步和增量同步的一次 tick 互斥地写同一条链
+    private final ConcurrentMap<String, Lock> chainLocks = new ConcurrentHashMap<>();
+
+    public boolean isRunning() {
+        return activeRuns.get() > 0;
+    }
+
+    /**
+     * 链同步锁：全量同步在 {@link #syncChain} 全程持有，增量同步在一次 tick 处理该链时持有
+     */
+    Lock chainLock(String chainId) {
+        return chainLocks.computeIfAbsent(chainId, k -> new ReentrantLock());
+    }
     
     /**
      * 手动触发全量同步
-     * 可通过 REST API 或启动时调用
+     * 可通过 REST API 或启动时调用；各链并行同步，并发度由 subgraph.chain-parallelism 控制
      */
     public void syncAll() {
         log.info("=== Starting FULL Subgraph sync ===");
+        activeRuns.incrementAndGet();
         
+        List<SubgraphProperties.ChainConfig> chains = new ArrayList<>();
         for (SubgraphProperties.ChainConfig chain : subgraphProperties.getChains()) {
-            if (!chain.isEnabled()) {
+            if (chain.isEnabled()) {
+                chains.add(chain);
+            } else {
                 log.info("Chain {} is disabled, skipping", chain.getId());
-                continue;
-            }
-            
-            try {
-                log.info("Starting sync for chain: {}", chain.getId());
-                syncChain(chain);
-                log.info("Successfully synced chain: {}", chain.getId());
-            } catch (Exception e) {
-                log.error("Failed to sync chain {}: {}", chain.getId(), e.getMessage(), e);
             }
         }
         
+        int parallelism = Math.max(1, Math.min(subgraphProperties.getChainParallelism(), chains.size()));
+        ExecutorService chainPool = Executors.newFixedThreadPool(parallelism, SyncThreads.named("subgraph-chain"));
+        try {
+            List<CompletableFuture<Void>> runs = new ArrayList<>();
+            for (SubgraphProperties.ChainConfig chain : chains) {
+                runs.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        log.info("Starting sync for chain: {}", chain.getId());
+                        syncChain(chain);
+                        log.info("Successfully synced chain: {}", chain.getId());
+                    } catch (Exception e) {
+                        log.error("Failed to sync chain {}: {}", chain.getId(), e.getMessage(), e);
+                    }
+                }, chainPool));
+            }
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).join();
+        } finally {
+            chainPool.shutdown();
+            activeRuns.decrementAndGet();
+        }
+        
         log.info("=== Subgraph FULL sync completed ===");
     }
     
     /**
      * 同步单个链的数据
+     * 实体按 {@link SubgraphEntitySpec#getDependsOn()} 排序，无依赖关系的实体并行同步，
+     * 并发度由 subgraph.step-parallelism 控制。前置实体失败不阻塞后续实体（与串行时行为一致）
+     * 该链正在进行的增量 tick 结束后才开始
      */
-    @Transactional
     public void syncChain(SubgraphProperties.ChainConfig chain) {
+        Lock lock = chainLock(chain.getId());
+        if (!lock.tryLock()) {
+            log.info("Waiting for the delta sync tick on chain {} to finish", chain.getId());
+            lock.lock();
+        }
+        try {
+            syncChainLocked(chain);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void syncChainLocked(SubgraphProperties.ChainConfig chain) {
         log.info("Syncing chain: {}", chain.getId());
+        long startedAt = System.currentTimeMillis();
         
-        String chainId = chain.getId();
         int batchSize = subgraphProperties.getBatchSize();
+        int parallelism = Math.max(1, subgraphProperties.getStepParallelism());
+        ExecutorService stepPool = Executors.newFixedThreadPool(parallelism, SyncThreads.named("subgraph-step-" + chain.getId()));
+        try {
+            Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+            for (SubgraphEntitySpec spec : entityCatalog.specs()) {
+                CompletableFuture<?>[] dependencies = spec.getDependsOn().stream()
+                        .map(steps::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+                steps.put(spec.getEntityType(), CompletableFuture.allOf(dependencies)
+                        .handle((ignored, error) -> null)
+                        .thenRunAsync(() -> runStep(chain, spec, batchSize), stepPool));
+            }
+            CompletableFuture.allOf(steps.values().toArray(new CompletableFuture[0])).join();
+        } finally {
+            stepPool.shutdown();
+        }
         
-        // 1. 同步核心实体
-        runStep(chainId, "uniswapFactories", () -> syncUniswapFactories(chain, batchSize));
-        runStep(chainId, "bundles", () -> syncBundles(chain, batchSize));
-        runStep(chainId, "tokens", () -> syncTokens(chain, batchSize));
-        runStep(chainId, "pairs", () -> syncPairs(chain, batchSize));
-        runStep(chainId, "users", () -> syncUsers(chain, batchSize));
-        runStep(chainId, "transactions", () -> syncTransactions(chain, batchSize));
-        runStep(chainId, "pairTokenLookups", () -> syncPairTokenLookups(chain, batchSize));
-        
-        // 2. 同步事件实体
-        runStep(chainId, "swaps", () -> syncSwaps(chain, batchSize));
-        runStep(chainId, "mints", () -> syncMints(chain, batchSize));
-        runStep(chainId, "burns", () -> syncBurns(chain, batchSize));
-        
-        // 3. 同步 Bridge 实体
-        runStep(chainId, "bridgeTransfers", () -> syncBridgeTransfers(chain, batchSize));
-        runStep(chainId, "bridgeConfigEvents", () -> syncBridgeConfigEvents(chain, batchSize));
-        
-        // 4. 同步时间聚合数据
-        runStep(chainId, "uniswapDayData", () -> syncUniswapDayData(chain, batchSize));
-        runStep(chainId, "tokenMinuteData", () -> syncTokenMinuteData(chain, batchSize));
-        runStep(chainId, "tokenHourData", () -> syncTokenHourData(chain, batchSize));
-        runStep(chainId, "tokenDayData", () -> syncTokenDayData(chain, batchSize));
-        runStep(chainId, "pairDayData", () -> syncPairDayData(chain, batchSize));
-        runStep(chainId, "pairHourData", () -> syncPairHourData(chain, batchSize));
-        // ... 其他聚合数据
-        
-        log.info("Chain {} sync completed", chainId);
+        log.info("Chain {} sync completed in {} ms", chain.getId(), System.currentTimeMillis() - startedAt);
     }
 
-    private void runStep(String chainId, String entityType, Runnable step) {
+    private void runStep(SubgraphProperties.ChainConfig chain, SubgraphEntitySpec spec, int batchSize) {
+        String chainId = chain.getId();
+        String entityType = spec.getEntityType();
         String key = chainId + ":" + entityType;
         SyncStatus status = syncStatusRepository.findById(key).orElseGet(() -> {
             SyncStatus created = new SyncStatus();
@@ -118,918 +153,62 @@ public class SubgraphSyncService {
             return created;
         });
         status.setSyncStatus("running");
-        status.setSyncStartTime(java.time.LocalDateTime.now());
+        status.setSyncStartTime(LocalDateTime.now());
         status.setSyncEndTime(null);
         status.setErrorMessage(null);
         syncStatusRepository.save(status);
+        long startedAt = System.currentTimeMillis();
 
         try {
-            step.run();
+            JsonNode headBlock = syncEntity(chain, spec, batchSize);
+            if (headBlock != null) {
+                spec.synced(chainId);
+                // 全量扫描起点之后的变更由增量同步从该水位继续追
+                status.setLastSyncedBlock(headBlock.path("number").asLong());
+                status.setLastSyncedTimestamp(headBlock.hasNonNull("timestamp") ? headBlock.get("timestamp").asInt() : null);
+                status.setLastSyncedId(null);
+                status.setScanHeadBlock(null);
+                status.setScanHeadTimestamp(null);
+            }
             status.setSyncStatus("completed");
         } catch (Exception e) {
             status.setSyncStatus("failed");
             status.setErrorMessage(e.getMessage());
             log.error("Sync step failed: chain={}, entityType={}, error={}", chainId, entityType, e.getMessage(), e);
         } finally {
-            status.setSyncEndTime(java.time.LocalDateTime.now());
+            long elapsedMs = System.currentTimeMillis() - startedAt;
+            status.setSyncEndTime(LocalDateTime.now());
+            status.setLastDurationMs(elapsedMs);
             syncStatusRepository.save(status);
+            syncMetrics.recordStep("full", chainId, entityType, "completed".equals(status.getSyncStatus()));
+            syncMetrics.watermark(chainId, entityType, status.getLastSyncedTimestamp());
+            log.info("Sync step {}: chain={}, entityType={}, {} ms", status.getSyncStatus(), chainId, entityType, elapsedMs);
         }
     }
 
-    private void syncUniswapFactories(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing uniswapFactories for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              uniswapFactories(first: $first, skip: $skip, orderBy: id) {
-                id
-                pairCount
-                totalVolumeUSD
-                totalVolumeETH
-                untrackedVolumeUSD
-                totalLiquidityUSD
-                totalLiquidityETH
-                txCount
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("uniswapFactories");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                uniswapFactorySyncHandler.handleFactories(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync uniswapFactories at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncBundles(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing bundles for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              bundles(first: $first, skip: $skip, orderBy: id) {
-                id
-                ethPrice
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("bundles");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                bundleSyncHandler.handleBundles(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync bundles at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncUsers(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing users for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              users(first: $first, skip: $skip, orderBy: id) {
-                id
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("users");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                userSyncHandler.handleUsers(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync users at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncTransactions(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing transactions for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              transactions(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                blockNumber
-                timestamp
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("transactions");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                transactionSyncHandler.handleTransactions(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync transactions at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncPairTokenLookups(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing pairTokenLookups for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              pairTokenLookups(first: $first, skip: $skip, orderBy: id) {
-                id
-                pair { id }
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("pairTokenLookups");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                pairTokenLookupSyncHandler.handlePairTokenLookups(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync pairTokenLookups at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-    
     /**
-     * 同步 Tokens
+     * 以 id_gt 游标分页拉取单个实体的全部数据，拉取/解析/落库由流水线并行执行
+     * subgraph.source=graph-node-db 且配置了 schema 时改为直接读 graph-node 数据库
+     * 
+     * @return 第一页返回的 {@code _meta.block}（扫描开始时的索引高度），endpoint 未配置时返回 null
      */
-    private void syncTokens(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing tokens for chain: {}", chain.getId());
-        
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              tokens(first: $first, skip: $skip, orderBy: id) {
-                id
-                symbol
-                name
-                decimals
-                totalSupply
-                tradeVolume
-                tradeVolumeUSD
-                untrackedVolumeUSD
-                txCount
-                totalLiquidity
-                derivedETH
-              }
-            }
-            """;
-        
-        int skip = 0;
-        boolean hasMore = true;
-        
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(
-                    chain.getEndpoint(),
-                    query,
-                    batchSize,
-                    skip
-                );
-                
-                JsonNode tokens = data.get("tokens");
-                if (tokens == null || !tokens.isArray() || tokens.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-                
-                // 处理并保存数据
-                tokenSyncHandler.handleTokens(chain.getId(), tokens);
-                
-                skip += batchSize;
-                log.debug("Synced {} tokens, skip={}", tokens.size(), skip);
-                
-                if (tokens.size() < batchSize) {
-                    hasMore = false;
-                }
-                
-            } catch (Exception e) {
-                log.error("Failed to sync tokens at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-        
-        log.info("Tokens sync completed for chain: {}", chain.getId());
-    }
-    
-    /**
-     * 同步 Pairs
-     */
-    private void syncPairs(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing pairs for chain: {}", chain.getId());
-        
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              pairs(first: $first, skip: $skip, orderBy: id) {
-                id
-                token0 { id }
-                token1 { id }
-                reserve0
-                reserve1
-                totalSupply
-                reserveETH
-                reserveUSD
-                trackedReserveETH
-                token0Price
-                token1Price
-                volumeToken0
-                volumeToken1
-                volumeUSD
-                untrackedVolumeUSD
-                txCount
-                liquidityProviderCount
-                createdAtTimestamp
-                createdAtBlockNumber
-              }
-            }
-            """;
-        
-        int skip = 0;
-        boolean hasMore = true;
-        
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(
-                    chain.getEndpoint(),
-                    query,
-                    batchSize,
-                    skip
-                );
-                
-                JsonNode pairs = data.get("pairs");
-                if (pairs == null || !pairs.isArray() || pairs.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-                
-                pairSyncHandler.handlePairs(chain.getId(), pairs);
-                
-                skip += batchSize;
-                log.debug("Synced {} pairs, skip={}", pairs.size(), skip);
-                
-                if (pairs.size() < batchSize) {
-                    hasMore = false;
-                }
-                
-            } catch (Exception e) {
-                log.error("Failed to sync pairs at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-        
-        log.info("Pairs sync completed for chain: {}", chain.getId());
-    }
-    
-    /**
-     * 同步 Swaps
-     */
-    private void syncSwaps(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing swaps for chain: {}", chain.getId());
-        
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              swaps(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                transaction { id blockNumber timestamp }
-                timestamp
-                pair { id }
-                sender
-                from
-                to
-                amount0In
-                amount1In
-                amount0Out
-                amount1Out
-                logIndex
-                amountUSD
-              }
-            }
-            """;
-        
-        int skip = 0;
-        boolean hasMore = true;
-        
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(
-                    chain.getEndpoint(),
-                    query,
-                    batchSize,
-                    skip
-                );
-                
-                JsonNode swaps = data.get("swaps");
-                if (swaps == null || !swaps.isArray() || swaps.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-                
-                swapSyncHandler.handleSwaps(chain.getId(), swaps);
-                
-                skip += batchSize;
-                log.debug("Synced {} swaps, skip={}", swaps.size(), skip);
-                
-                if (swaps.size() < batchSize) {
-                    hasMore = false;
-                }
-                
-            } catch (Exception e) {
-                log.error("Failed to sync swaps at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-        
-        log.info("Swaps sync completed for chain: {}", chain.getId());
-    }
-    
-    private void syncMints(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing mints for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              mints(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                transaction { id blockNumber timestamp }
-                timestamp
-                pair { id }
-                to
-                liquidity
-                sender
-                amount0
-                amount1
-                logIndex
-                amountUSD
-                feeTo
-                feeLiquidity
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("mints");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                mintSyncHandler.handleMints(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync mints at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-    
-    private void syncBurns(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing burns for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              burns(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                transaction { id blockNumber timestamp }
-                timestamp
-                pair { id }
-                sender
-                liquidity
-                amount0
-                amount1
-                to
-                logIndex
-                amountUSD
-                feeTo
-                feeLiquidity
-                needsComplete
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("burns");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                burnSyncHandler.handleBurns(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync burns at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-    
-    private void syncBridgeTransfers(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing bridgeTransfers for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              bridgeTransfers(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                txHash
-                blockNumber
-                timestamp
-                messageId
-                sender
-                token
-                pool
-                amount
-                dstSelector
-                receiverChainName
-                receiver
-                payInLink
-                ccipFee
-                serviceFeePaid
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("bridgeTransfers");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                bridgeTransferSyncHandler.handleBridgeTransfers(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync bridgeTransfers at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
+    private JsonNode syncEntity(SubgraphProperties.ChainConfig chain, SubgraphEntitySpec spec, int batchSize) {
+        if (subgraphProperties.getSource() == SubgraphProperties.SyncSource.GRAPH_NODE_DB) {
+            String schema = spec.graphSchemaFor(chain);
+            if (schema != null) {
+                log.info("Syncing {} for chain: {} from graph-node schema {}", spec.getEntityType(), chain.getId(), schema);
+                return syncPipeline.runFromGraphNode(chain.getId(), spec, schema, batchSize);
             }
+            log.info("Chain {} has no graph-node schema configured for {}, falling back to GraphQL", chain.getId(), spec.getEntityType());
         }
-    }
-
-    private void syncBridgeConfigEvents(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing bridgeConfigEvents for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              bridgeConfigEvents(first: $first, skip: $skip, orderBy: timestamp, orderDirection: desc) {
-                id
-                eventName
-                token
-                pool
-                minAmount
-                maxAmount
-                nativeAllowed
-                linkAllowed
-                newFee
-                newCollector
-                blockNumber
-                timestamp
-                transactionHash
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
 
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("bridgeConfigEvents");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                bridgeConfigEventSyncHandler.handleBridgeConfigEvents(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync bridgeConfigEvents at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
+        String endpoint = spec.endpointFor(chain);
+        if (endpoint == null) {
+            log.info("Chain {} has no endpoint configured for {}, skipping", chain.getId(), spec.getEntityType());
+            return null;
         }
-    }
-    
-    private void syncUniswapDayData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing uniswapDayData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              uniswapDayDatas(first: $first, skip: $skip, orderBy: date, orderDirection: desc) {
-                id
-                date
-                dailyVolumeETH
-                dailyVolumeUSD
-                dailyVolumeUntracked
-                totalVolumeETH
-                totalVolumeUSD
-                totalLiquidityETH
-                totalLiquidityUSD
-                txCount
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("uniswapDayDatas");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                uniswapDayDataSyncHandler.handleUniswapDayData(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync uniswapDayDatas at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncTokenDayData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        if (chain.getEndpointV2Tokens() == null || chain.getEndpointV2Tokens().isBlank()) {
-            log.info("Chain {} has no endpoint-v2-tokens configured, skipping tokenDayData sync", chain.getId());
-            return;
-        }
-
-        log.info("Syncing tokenDayData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $lastId: ID!) {
-              tokenDayDatas(first: $first, where: { id_gt: $lastId }, orderBy: id, orderDirection: asc) {
-                id
-                date
-                token { id }
-                dailyVolumeToken
-                dailyVolumeETH
-                dailyVolumeUSD
-                dailyTxns
-                totalLiquidityToken
-                totalLiquidityETH
-                totalLiquidityUSD
-                priceUSD
-              }
-            }
-            """;
-
-        String lastId = "";
-        boolean hasMore = true;
 
-        while (hasMore) {
-            try {
-                Map<String, Object> variables = new HashMap<>();
-                variables.put("first", batchSize);
-                variables.put("lastId", lastId);
-                JsonNode data = subgraphClient.query(chain.getEndpointV2Tokens(), query, variables);
-
-                JsonNode nodes = data.get("tokenDayDatas");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                tokenDayDataSyncHandler.handleTokenDayData(chain.getId(), nodes);
-
-                lastId = nodes.get(nodes.size() - 1).get("id").asText();
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync tokenDayDatas after lastId={}: {}", lastId, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncTokenHourData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        if (chain.getEndpointV2Tokens() == null || chain.getEndpointV2Tokens().isBlank()) {
-            log.info("Chain {} has no endpoint-v2-tokens configured, skipping tokenHourData sync", chain.getId());
-            return;
-        }
-
-        log.info("Syncing tokenHourData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $lastId: ID!) {
-              tokenHourDatas(first: $first, where: { id_gt: $lastId }, orderBy: id, orderDirection: asc) {
-                id
-                periodStartUnix
-                token { id }
-                volume
-                volumeUSD
-                untrackedVolumeUSD
-                totalValueLocked
-                totalValueLockedUSD
-                priceUSD
-                feesUSD
-                open
-                high
-                low
-                close
-              }
-            }
-            """;
-
-        String lastId = "";
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                Map<String, Object> variables = new HashMap<>();
-                variables.put("first", batchSize);
-                variables.put("lastId", lastId);
-                JsonNode data = subgraphClient.query(chain.getEndpointV2Tokens(), query, variables);
-
-                JsonNode nodes = data.get("tokenHourDatas");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                tokenHourDataSyncHandler.handleTokenHourData(chain.getId(), nodes);
-
-                lastId = nodes.get(nodes.size() - 1).get("id").asText();
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync tokenHourDatas after lastId={}: {}", lastId, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncTokenMinuteData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        if (chain.getEndpointV2Tokens() == null || chain.getEndpointV2Tokens().isBlank()) {
-            log.info("Chain {} has no endpoint-v2-tokens configured, skipping tokenMinuteData sync", chain.getId());
-            return;
-        }
-
-        log.info("Syncing tokenMinuteData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $lastId: ID!) {
-              tokenMinuteDatas(first: $first, where: { id_gt: $lastId }, orderBy: id, orderDirection: asc) {
-                id
-                periodStartUnix
-                token { id }
-                volume
-                volumeUSD
-                untrackedVolumeUSD
-                totalValueLocked
-                totalValueLockedUSD
-                priceUSD
-                feesUSD
-                open
-                high
-                low
-                close
-              }
-            }
-            """;
-
-        String lastId = "";
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                Map<String, Object> variables = new HashMap<>();
-                variables.put("first", batchSize);
-                variables.put("lastId", lastId);
-                JsonNode data = subgraphClient.query(chain.getEndpointV2Tokens(), query, variables);
-
-                JsonNode tokenMinuteDatas = data.get("tokenMinuteDatas");
-                if (tokenMinuteDatas == null || !tokenMinuteDatas.isArray() || tokenMinuteDatas.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                tokenMinuteDataSyncHandler.handleTokenMinuteData(chain.getId(), tokenMinuteDatas);
-
-                lastId = tokenMinuteDatas.get(tokenMinuteDatas.size() - 1).get("id").asText();
-                log.debug("Synced {} tokenMinuteDatas, lastId={}", tokenMinuteDatas.size(), lastId);
-
-                if (tokenMinuteDatas.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error(
-                    "Failed to sync tokenMinuteDatas after lastId={} for chain {}: {}",
-                    lastId,
-                    chain.getId(),
-                    e.getMessage(),
-                    e
-                );
-                hasMore = false;
-            }
-        }
-
-        log.info("tokenMinuteData sync completed for chain: {}", chain.getId());
-    }
-    
-    private void syncPairDayData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing pairDayData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              pairDayDatas(first: $first, skip: $skip, orderBy: date, orderDirection: desc) {
-                id
-                date
-                pairAddress
-                token0 { id }
-                token1 { id }
-                reserve0
-                reserve1
-                totalSupply
-                reserveUSD
-                dailyVolumeToken0
-                dailyVolumeToken1
-                dailyVolumeUSD
-                dailyTxns
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("pairDayDatas");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                pairDayDataSyncHandler.handlePairDayData(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync pairDayDatas at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
-    }
-
-    private void syncPairHourData(SubgraphProperties.ChainConfig chain, int batchSize) {
-        log.info("Syncing pairHourData for chain: {}", chain.getId());
-
-        String query = """
-            query($first: Int!, $skip: Int!) {
-              pairHourDatas(first: $first, skip: $skip, orderBy: hourStartUnix, orderDirection: desc) {
-                id
-                hourStartUnix
-                pair { id }
-                reserve0
-                reserve1
-                totalSupply
-                reserveUSD
-                hourlyVolumeToken0
-                hourlyVolumeToken1
-                hourlyVolumeUSD
-                hourlyTxns
-              }
-            }
-            """;
-
-        int skip = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            try {
-                JsonNode data = subgraphClient.queryWithPagination(chain.getEndpoint(), query, batchSize, skip);
-                JsonNode nodes = data.get("pairHourDatas");
-                if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
-                    hasMore = false;
-                    break;
-                }
-
-                pairHourDataSyncHandler.handlePairHourData(chain.getId(), nodes);
-
-                skip += batchSize;
-                if (nodes.size() < batchSize) {
-                    hasMore = false;
-                }
-            } catch (Exception e) {
-                log.error("Failed to sync pairHourDatas at skip={}: {}", skip, e.getMessage(), e);
-                hasMore = false;
-            }
-        }
+        log.info("Syncing {} for chain: {}", spec.getEntityType(), chain.getId());
+        return syncPipeline.run(chain.getId(), spec, endpoint, batchSize);
     }
 }
@@ -0,0 +1,18 @@
+package com.dripswap.bff.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Subgraph HTTP 传输层
+ * SubgraphClient 只负责 GraphQL 编解码，连接管理、压缩、超时和限流由实现负责
+ */
+public interface SubgraphTransport {
+
+    /**
+     * POST 一个 JSON 请求体
+     *
+     * @return 已解压的响应体，调用方必须关闭；非 2xx 响应以 IOException 抛出
+     */
+    InputStream post(String endpoint, byte[] jsonBody) throws IOException;
+}
@@ -1,12 +1,13 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.Swap;
 import com.dripswap.bff.entity.Transaction;
-import com.dripswap.bff.repository.SwapRepository;
-import com.dripswap.bff.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,14 +23,43 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SwapSyncHandler {
 
-    private final SwapRepository swapRepository;
-    private final TransactionRepository transactionRepository;
+    static final BulkUpsertTable<Swap> SWAPS = BulkUpsertTable.<Swap>builder("swaps")
+            .column("id", Swap::getId)
+            .column("chain_id", Swap::getChainId)
+            .column("transaction_id", Swap::getTransactionId)
+            .column("timestamp", Swap::getTimestamp)
+            .column("pair_id", Swap::getPairId)
+            .column("sender", Swap::getSender)
+            .column("from_address", Swap::getFromAddress)
+            .column("to_address", Swap::getToAddress)
+            .column("amount0_in", Swap::getAmount0In)
+            .column("amount1_in", Swap::getAmount1In)
+            .column("amount0_out", Swap::getAmount0Out)
+            .column("amount1_out", Swap::getAmount1Out)
+            .column("log_index", Swap::getLogIndex)
+            .column("amount_usd", Swap::getAmountUsd)
+            .partitionedBy("timestamp")
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleSwaps(String chainId, JsonNode swapsNode) {
         if (swapsNode == null || !swapsNode.isArray()) {
             return;
         }
+        parseSwaps(chainId, swapsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseSwaps(String chainId, Iterable<JsonNode> swapsNode) {
+        if (swapsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Swap> swaps = new ArrayList<>();
         List<Transaction> transactions = new ArrayList<>();
@@ -44,13 +74,23 @@ public class SwapSyncHandler {
             }
         }
 
-        if (!transactions.isEmpty()) {
-            transactionRepository.saveAll(transactions);
-        }
-        if (!swaps.isEmpty()) {
-            swapRepository.saveAll(swaps);
-            log.info("Saved {} swaps for chain: {}", swaps.size(), chainId);
-        }
+        return ParsedPage.preparedBy(() -> {
+            bulkUpserter.prepare(TransactionSyncHandler.TRANSACTIONS, transactions);
+            bulkUpserter.prepare(SWAPS, swaps);
+        }, () -> {
+            if (!transactions.isEmpty()) {
+                bulkUpserter.upsert(TransactionSyncHandler.TRANSACTIONS, transactions);
+            }
+            if (!swaps.isEmpty()) {
+                bulkUpserter.upsert(SWAPS, swaps);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.RECENT_TRANSACTIONS));
+                if (LiveSync.isActive()) {
+                    eventPublisher.publishEvent(new SwapsCommittedEvent(chainId, List.copyOf(swaps)));
+                }
+                log.info("Saved {} swaps for chain: {}", swaps.size(), chainId);
+            }
+            return swaps.size();
+        });
     }
 
     private Transaction parseTransaction(String chainId, JsonNode node) {
@@ -0,0 +1,11 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.entity.Swap;
+
+import java.util.List;
+
+/**
+ * 增量同步写入一页 swaps 后发布（全量同步不发布，见 {@link LiveSync}）；事务提交后推送给 onSwap 订阅者
+ */
+public record SwapsCommittedEvent(String chainId, List<Swap> swaps) {
+}
@@ -0,0 +1,42 @@
+package com.dripswap.bff.sync;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/health 中的 syncFreshness：任一启用链的本地数据落后子图头部超过
+ * {@code subgraph.status.max-lag-seconds} 时返回 OUT_OF_SERVICE（HTTP 503），负载均衡据此摘除本实例
+ *
+ * <p>只读 {@link SubgraphStatusMonitor} 的缓存，不发请求；尚未完成第一次检查的链不影响结果。</p>
+ */
+@Component
+@ConditionalOnEnabledHealthIndicator("syncFreshness")
+@RequiredArgsConstructor
+public class SyncFreshnessHealthIndicator extends AbstractHealthIndicator {
+
+    private final SubgraphStatusMonitor statusMonitor;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean fresh = true;
+        Map<String, Object> chains = new LinkedHashMap<>();
+        for (SubgraphStatusMonitor.ChainStatus status : statusMonitor.statuses().values()) {
+            fresh &= status.isFresh();
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("syncedBlock", status.syncedBlock());
+            detail.put("headBlock", status.headBlock());
+            detail.put("lagSeconds", status.lagSeconds());
+            detail.put("message", status.message());
+            detail.put("checkedAt", status.checkedAt().toString());
+            chains.put(status.chainId(), detail);
+        }
+        builder.status(fresh ? Status.UP : Status.OUT_OF_SERVICE).withDetails(chains);
+    }
+}
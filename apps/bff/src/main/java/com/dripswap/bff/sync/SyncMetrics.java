@@ -0,0 +1,195 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * 同步流水线指标，按 chain / entity 打标签，经 actuator {@code /actuator/metrics} 暴露
+ *
+ * <ul>
+ *   <li>{@code dripswap.sync.pages}：拉取的页数</li>
+ *   <li>{@code dripswap.sync.rows{stage=fetched|persisted|skipped}}：行数，skipped 为解析失败被丢弃的行</li>
+ *   <li>{@code dripswap.sync.parse} / {@code dripswap.sync.persist}：每页解析、落库耗时</li>
+ *   <li>{@code dripswap.subgraph.request{chain, outcome}}：SubgraphClient 请求耗时直方图（含读取响应）；
+ *       直方图序列多，不按 entity 拆分，各实体的耗时看 parse / persist</li>
+ *   <li>{@code dripswap.sync.steps{mode=full|delta, outcome}}：实体同步结果</li>
+ *   <li>{@code dripswap.sync.lag}：当前时间与 sync_status 水位（lastSyncedTimestamp）之差，秒</li>
+ * </ul>
+ *
+ * <p>SubgraphClient 不知道自己在为哪条链拉取，调用方用 {@link #bind} 把 chain 绑定到当前线程。</p>
+ */
+@Slf4j
+@Component
+public class SyncMetrics {
+
+    private static final String NONE = "none";
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final SyncStatusRepository syncStatusRepository;
+    private final ConcurrentMap<String, Integer> watermarks = new ConcurrentHashMap<>();
+
+    public SyncMetrics(MeterRegistry meterRegistry, SyncStatusRepository syncStatusRepository) {
+        this.meterRegistry = meterRegistry;
+        this.syncStatusRepository = syncStatusRepository;
+    }
+
+    /**
+     * 在当前线程上标记正在同步的 chain，供 SubgraphClient 的请求指标使用
+     */
+    public Scope bind(String chainId) {
+        Context previous = CURRENT.get();
+        CURRENT.set(new Context(chainId));
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * 解析一页并计量；返回的页落库时记录耗时、写入行数和解析失败丢弃的行数
+     */
+    public ParsedPage parse(String chainId, String entityType, Iterable<JsonNode> rows,
+                            BiFunction<String, Iterable<JsonNode>, ParsedPage> parser) {
+        CountingIterable counted = new CountingIterable(rows);
+        long startedAt = System.nanoTime();
+        ParsedPage page = parser.apply(chainId, counted);
+        timer("dripswap.sync.parse", chainId, entityType).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        int fetched = counted.count;
+        counter("dripswap.sync.pages", chainId, entityType).increment();
+        rows(chainId, entityType, "fetched").increment(fetched);
+        return ParsedPage.preparedBy(page::prepare, () -> {
+            long persistStartedAt = System.nanoTime();
+            int saved = page.persist();
+            timer("dripswap.sync.persist", chainId, entityType).record(System.nanoTime() - persistStartedAt, TimeUnit.NANOSECONDS);
+            rows(chainId, entityType, "persisted").increment(saved);
+            if (fetched > saved) {
+                // 每个 handler 对每条成功解析的行写入一条主实体
+                rows(chainId, entityType, "skipped").increment(fetched - saved);
+            }
+            return saved;
+        });
+    }
+
+    public void recordRequest(long elapsedNanos, boolean success) {
+        Context context = CURRENT.get();
+        Timer.builder("dripswap.subgraph.request")
+                .tag("chain", context == null ? NONE : context.chainId())
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStep(String mode, String chainId, String entityType, boolean success) {
+        meterRegistry.counter("dripswap.sync.steps",
+                "mode", mode, "chain", chainId, "entity", entityType, "outcome", success ? "completed" : "failed").increment();
+    }
+
+    /**
+     * 更新水位；第一次见到某个 chain / entity 时注册 lag gauge
+     */
+    public void watermark(String chainId, String entityType, Integer lastSyncedTimestamp) {
+        String key = chainId + ":" + entityType;
+        if (lastSyncedTimestamp == null) {
+            return;
+        }
+        if (watermarks.put(key, lastSyncedTimestamp) == null) {
+            Gauge.builder("dripswap.sync.lag", watermarks, m -> lagSeconds(m.get(key)))
+                    .tag("chain", chainId)
+                    .tag("entity", entityType)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 同步服务只在推进水位时更新，这里兜底从 sync_status 刷新（包括其他实例推进的水位）
+     */
+    @Scheduled(fixedDelayString = "${subgraph.metrics-refresh-ms:30000}")
+    public void refreshWatermarks() {
+        try {
+            for (SyncStatus status : syncStatusRepository.findAll()) {
+                if (status.getChainId() != null && status.getEntityType() != null) {
+                    watermark(status.getChainId(), status.getEntityType(), status.getLastSyncedTimestamp());
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to refresh sync watermarks: {}", e.getMessage());
+        }
+    }
+
+    private static double lagSeconds(Integer watermark) {
+        return watermark == null ? Double.NaN : System.currentTimeMillis() / 1000.0 - watermark;
+    }
+
+    private Counter counter(String name, String chainId, String entityType) {
+        return meterRegistry.counter(name, "chain", chainId, "entity", entityType);
+    }
+
+    private Counter rows(String chainId, String entityType, String stage) {
+        return meterRegistry.counter("dripswap.sync.rows", "chain", chainId, "entity", entityType, "stage", stage);
+    }
+
+    private Timer timer(String name, String chainId, String entityType) {
+        return meterRegistry.timer(name, "chain", chainId, "entity", entityType);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private record Context(String chainId) {
+    }
+
+    /**
+     * 数出 parser 实际遍历的行数；流式页只能遍历一次，包装不改变这一点
+     */
+    private static final class CountingIterable implements Iterable<JsonNode> {
+
+        private final Iterable<JsonNode> delegate;
+        private int count;
+
+        private CountingIterable(Iterable<JsonNode> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Iterator<JsonNode> iterator() {
+            Iterator<JsonNode> iterator = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public JsonNode next() {
+                    JsonNode next = iterator.next();
+                    count++;
+                    return next;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dripswap.bff.sync;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同步任务线程工具
+ */
+final class SyncThreads {
+
+    private SyncThreads() {
+    }
+
+    /**
+     * 带名称前缀的守护线程工厂，便于在日志和线程栈中定位
+     */
+    static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,7 +1,6 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.TokenDayData;
-import com.dripswap.bff.repository.TokenDayDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,13 +16,40 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TokenDayDataSyncHandler {
 
-    private final TokenDayDataRepository tokenDayDataRepository;
+    static final BulkUpsertTable<TokenDayData> TOKEN_DAY_DATA = BulkUpsertTable.<TokenDayData>builder("token_day_data")
+            .column("id", TokenDayData::getId)
+            .column("chain_id", TokenDayData::getChainId)
+            .column("date", TokenDayData::getDate)
+            .column("token_id", TokenDayData::getTokenId)
+            .column("daily_volume_token", TokenDayData::getDailyVolumeToken)
+            .column("daily_volume_eth", TokenDayData::getDailyVolumeEth)
+            .column("daily_volume_usd", TokenDayData::getDailyVolumeUsd)
+            .column("daily_txns", TokenDayData::getDailyTxns)
+            .column("total_liquidity_token", TokenDayData::getTotalLiquidityToken)
+            .column("total_liquidity_eth", TokenDayData::getTotalLiquidityEth)
+            .column("total_liquidity_usd", TokenDayData::getTotalLiquidityUsd)
+            .column("price_usd", TokenDayData::getPriceUsd)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
 
     @Transactional
     public void handleTokenDayData(String chainId, JsonNode nodes) {
         if (nodes == null || !nodes.isArray()) {
             return;
         }
+        parseTokenDayData(chainId, nodes).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTokenDayData(String chainId, Iterable<JsonNode> nodes) {
+        if (nodes == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<TokenDayData> rows = new ArrayList<>();
         for (JsonNode node : nodes) {
@@ -34,10 +60,13 @@ public class TokenDayDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            tokenDayDataRepository.saveAll(rows);
-            log.info("Saved {} tokenDayData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(TOKEN_DAY_DATA, rows);
+                log.info("Saved {} tokenDayData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private TokenDayData parseRow(String chainId, JsonNode node) {
@@ -1,10 +1,12 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.TokenHourData;
-import com.dripswap.bff.repository.TokenHourDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,13 +19,45 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TokenHourDataSyncHandler {
 
-    private final TokenHourDataRepository tokenHourDataRepository;
+    static final BulkUpsertTable<TokenHourData> TOKEN_HOUR_DATA = BulkUpsertTable.<TokenHourData>builder("token_hour_data")
+            .column("id", TokenHourData::getId)
+            .column("chain_id", TokenHourData::getChainId)
+            .column("period_start_unix", TokenHourData::getPeriodStartUnix)
+            .column("token_id", TokenHourData::getTokenId)
+            .column("volume", TokenHourData::getVolume)
+            .column("volume_usd", TokenHourData::getVolumeUsd)
+            .column("untracked_volume_usd", TokenHourData::getUntrackedVolumeUsd)
+            .column("total_value_locked", TokenHourData::getTotalValueLocked)
+            .column("total_value_locked_usd", TokenHourData::getTotalValueLockedUsd)
+            .column("price_usd", TokenHourData::getPriceUsd)
+            .column("fees_usd", TokenHourData::getFeesUsd)
+            .column("open", TokenHourData::getOpen)
+            .column("high", TokenHourData::getHigh)
+            .column("low", TokenHourData::getLow)
+            .column("close", TokenHourData::getClose)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
+    private final TokenStatsUpdater tokenStatsUpdater;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleTokenHourData(String chainId, JsonNode nodes) {
         if (nodes == null || !nodes.isArray()) {
             return;
         }
+        parseTokenHourData(chainId, nodes).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTokenHourData(String chainId, Iterable<JsonNode> nodes) {
+        if (nodes == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<TokenHourData> rows = new ArrayList<>();
         for (JsonNode node : nodes) {
@@ -34,10 +68,18 @@ public class TokenHourDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            tokenHourDataRepository.saveAll(rows);
-            log.info("Saved {} tokenHourData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(TOKEN_HOUR_DATA, rows);
+                tokenStatsUpdater.refreshTokens(chainId, rows, TokenHourData::getTokenId);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.TOKEN_LIST));
+                if (LiveSync.isActive()) {
+                    eventPublisher.publishEvent(CandleSourceCommittedEvent.of(chainId, true, rows, TokenHourData::getTokenId, TokenHourData::getPeriodStartUnix));
+                }
+                log.info("Saved {} tokenHourData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private TokenHourData parseRow(String chainId, JsonNode node) {
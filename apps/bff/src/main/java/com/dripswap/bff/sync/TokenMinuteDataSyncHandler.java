@@ -1,10 +1,10 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.TokenMinuteData;
-import com.dripswap.bff.repository.TokenMinuteDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,13 +17,44 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TokenMinuteDataSyncHandler {
 
-    private final TokenMinuteDataRepository tokenMinuteDataRepository;
+    static final BulkUpsertTable<TokenMinuteData> TOKEN_MINUTE_DATA = BulkUpsertTable.<TokenMinuteData>builder("token_minute_data")
+            .column("id", TokenMinuteData::getId)
+            .column("chain_id", TokenMinuteData::getChainId)
+            .column("period_start_unix", TokenMinuteData::getPeriodStartUnix)
+            .column("token_id", TokenMinuteData::getTokenId)
+            .column("volume", TokenMinuteData::getVolume)
+            .column("volume_usd", TokenMinuteData::getVolumeUsd)
+            .column("untracked_volume_usd", TokenMinuteData::getUntrackedVolumeUsd)
+            .column("total_value_locked", TokenMinuteData::getTotalValueLocked)
+            .column("total_value_locked_usd", TokenMinuteData::getTotalValueLockedUsd)
+            .column("price_usd", TokenMinuteData::getPriceUsd)
+            .column("fees_usd", TokenMinuteData::getFeesUsd)
+            .column("open", TokenMinuteData::getOpen)
+            .column("high", TokenMinuteData::getHigh)
+            .column("low", TokenMinuteData::getLow)
+            .column("close", TokenMinuteData::getClose)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleTokenMinuteData(String chainId, JsonNode tokenMinuteDatasNode) {
         if (tokenMinuteDatasNode == null || !tokenMinuteDatasNode.isArray()) {
             return;
         }
+        parseTokenMinuteData(chainId, tokenMinuteDatasNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTokenMinuteData(String chainId, Iterable<JsonNode> tokenMinuteDatasNode) {
+        if (tokenMinuteDatasNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<TokenMinuteData> rows = new ArrayList<>();
 
@@ -35,10 +66,16 @@ public class TokenMinuteDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            tokenMinuteDataRepository.saveAll(rows);
-            log.info("Saved {} tokenMinuteData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(TOKEN_MINUTE_DATA, rows);
+                if (LiveSync.isActive()) {
+                    eventPublisher.publishEvent(CandleSourceCommittedEvent.of(chainId, false, rows, TokenMinuteData::getTokenId, TokenMinuteData::getPeriodStartUnix));
+                }
+                log.info("Saved {} tokenMinuteData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private TokenMinuteData parseRow(String chainId, JsonNode node) {
@@ -0,0 +1,106 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.entity.TokenRollingWindow;
+import com.dripswap.bff.util.RollingWindowCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * v2-tokens 子图 Token 归档字段同步处理器，写入 token_rolling_windows
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRollingWindowSyncHandler {
+
+    static final BulkUpsertTable<TokenRollingWindow> TOKEN_ROLLING_WINDOWS = BulkUpsertTable.<TokenRollingWindow>builder("token_rolling_windows")
+            .column("id", TokenRollingWindow::getId)
+            .column("chain_id", TokenRollingWindow::getChainId)
+            .column("last_minute_archived", TokenRollingWindow::getLastMinuteArchived)
+            .column("last_hour_archived", TokenRollingWindow::getLastHourArchived)
+            .column("last_minute_recorded", TokenRollingWindow::getLastMinuteRecorded)
+            .column("last_hour_recorded", TokenRollingWindow::getLastHourRecorded)
+            .column("minute_window", TokenRollingWindow::getMinuteWindow)
+            .column("hour_window", TokenRollingWindow::getHourWindow)
+            .withUpdatedAt()
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTokenRollingWindows(String chainId, Iterable<JsonNode> tokensNode) {
+        if (tokensNode == null) {
+            return ParsedPage.EMPTY;
+        }
+
+        List<TokenRollingWindow> rows = new ArrayList<>();
+
+        for (JsonNode node : tokensNode) {
+            try {
+                rows.add(parseRow(chainId, node));
+            } catch (Exception e) {
+                log.error("Failed to parse token rolling window: {}", node, e);
+            }
+        }
+
+        return () -> {
+            if (!rows.isEmpty()) {
+                bulkUpserter.upsert(TOKEN_ROLLING_WINDOWS, rows);
+                log.info("Saved {} token rolling windows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
+    }
+
+    private TokenRollingWindow parseRow(String chainId, JsonNode node) {
+        TokenRollingWindow row = new TokenRollingWindow();
+
+        row.setId(node.get("id").asText().toLowerCase());
+        row.setChainId(chainId);
+        row.setLastMinuteArchived(node.path("lastMinuteArchived").asLong());
+        row.setLastHourArchived(node.path("lastHourArchived").asLong());
+        row.setLastMinuteRecorded(node.path("lastMinuteRecorded").asLong());
+        row.setLastHourRecorded(node.path("lastHourRecorded").asLong());
+        row.setMinuteWindow(RollingWindowCodec.encode(parseIntArray(node.get("minuteArray"))));
+        row.setHourWindow(RollingWindowCodec.encode(parseIntArray(node.get("hourArray"))));
+
+        return row;
+    }
+
+    /**
+     * GraphQL 返回 JSON 数组；从 graph-node 数据库读取时 int4[] 列是 {@code {1,2,3}} 文本
+     */
+    static int[] parseIntArray(JsonNode field) {
+        if (field == null || field.isNull()) {
+            return new int[0];
+        }
+        if (field.isArray()) {
+            int[] values = new int[field.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.get(i).asInt();
+            }
+            return values;
+        }
+        String text = field.asText().trim();
+        if (text.startsWith("{") && text.endsWith("}")) {
+            text = text.substring(1, text.length() - 1).trim();
+        }
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        String[] parts = text.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
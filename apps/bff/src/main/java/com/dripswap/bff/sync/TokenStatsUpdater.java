@@ -0,0 +1,42 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.repository.TokenStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * token_stats 增量维护
+ * 在写入 tokens / token_hour_data 的同一事务内，只重算本页涉及的 token；bundles 一轮同步完成后重算整条链一次
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenStatsUpdater {
+
+    private final TokenStatsRepository tokenStatsRepository;
+
+    public <T> void refreshTokens(String chainId, Collection<T> rows, Function<T, String> tokenId) {
+        Set<String> tokenIds = new LinkedHashSet<>();
+        for (T row : rows) {
+            tokenIds.add(tokenId.apply(row));
+        }
+        if (tokenIds.isEmpty()) {
+            return;
+        }
+        int refreshed = tokenStatsRepository.refreshTokens(chainId, tokenIds);
+        log.debug("Refreshed token_stats for {} tokens on chain {}", refreshed, chainId);
+    }
+
+    @Transactional
+    public void refreshChain(String chainId) {
+        int refreshed = tokenStatsRepository.refreshChain(chainId);
+        log.debug("Refreshed token_stats for all {} tokens on chain {}", refreshed, chainId);
+    }
+}
@@ -1,10 +1,13 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.Token;
 import com.dripswap.bff.repository.TokenRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,8 @@ import java.util.List;
 public class TokenSyncHandler {
     
     private final TokenRepository tokenRepository;
+    private final TokenStatsUpdater tokenStatsUpdater;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 处理从 Subgraph 查询到的 Token 数据
@@ -33,6 +38,17 @@ public class TokenSyncHandler {
         if (tokensNode == null || !tokensNode.isArray()) {
             return;
         }
+        parseTokens(chainId, tokensNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTokens(String chainId, Iterable<JsonNode> tokensNode) {
+        if (tokensNode == null) {
+            return ParsedPage.EMPTY;
+        }
         
         List<Token> tokens = new ArrayList<>();
         
@@ -44,11 +60,16 @@ public class TokenSyncHandler {
                 log.error("Failed to parse token: {}", tokenNode, e);
             }
         }
-        
-        if (!tokens.isEmpty()) {
-            tokenRepository.saveAll(tokens);
-            log.info("Saved {} tokens for chain: {}", tokens.size(), chainId);
-        }
+
+        return () -> {
+            if (!tokens.isEmpty()) {
+                tokenRepository.saveAll(tokens);
+                tokenStatsUpdater.refreshTokens(chainId, tokens, Token::getId);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.TOKEN_LIST));
+                log.info("Saved {} tokens for chain: {}", tokens.size(), chainId);
+            }
+            return tokens.size();
+        };
     }
     
     /**
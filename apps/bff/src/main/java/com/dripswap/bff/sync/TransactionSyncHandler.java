@@ -1,10 +1,12 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.Transaction;
-import com.dripswap.bff.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,13 +19,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionSyncHandler {
 
-    private final TransactionRepository transactionRepository;
+    static final BulkUpsertTable<Transaction> TRANSACTIONS = BulkUpsertTable.<Transaction>builder("transactions")
+            .column("id", Transaction::getId)
+            .column("chain_id", Transaction::getChainId)
+            .column("block_number", Transaction::getBlockNumber)
+            .column("timestamp", Transaction::getTimestamp)
+            .partitionedBy("timestamp")
+            .build();
+
+    private final PgBulkUpserter bulkUpserter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleTransactions(String chainId, JsonNode transactionsNode) {
         if (transactionsNode == null || !transactionsNode.isArray()) {
             return;
         }
+        parseTransactions(chainId, transactionsNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseTransactions(String chainId, Iterable<JsonNode> transactionsNode) {
+        if (transactionsNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<Transaction> txs = new ArrayList<>();
         for (JsonNode node : transactionsNode) {
@@ -34,10 +56,14 @@ public class TransactionSyncHandler {
             }
         }
 
-        if (!txs.isEmpty()) {
-            transactionRepository.saveAll(txs);
-            log.info("Saved {} transactions for chain: {}", txs.size(), chainId);
-        }
+        return ParsedPage.preparedBy(() -> bulkUpserter.prepare(TRANSACTIONS, txs), () -> {
+            if (!txs.isEmpty()) {
+                bulkUpserter.upsert(TRANSACTIONS, txs);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.RECENT_TRANSACTIONS));
+                log.info("Saved {} transactions for chain: {}", txs.size(), chainId);
+            }
+            return txs.size();
+        });
     }
 
     private Transaction parseTx(String chainId, JsonNode node) {
@@ -1,10 +1,13 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.UniswapDayData;
 import com.dripswap.bff.repository.UniswapDayDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,12 +21,24 @@ import java.util.List;
 public class UniswapDayDataSyncHandler {
 
     private final UniswapDayDataRepository uniswapDayDataRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleUniswapDayData(String chainId, JsonNode nodes) {
         if (nodes == null || !nodes.isArray()) {
             return;
         }
+        parseUniswapDayData(chainId, nodes).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseUniswapDayData(String chainId, Iterable<JsonNode> nodes) {
+        if (nodes == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<UniswapDayData> rows = new ArrayList<>();
         for (JsonNode node : nodes) {
@@ -34,10 +49,14 @@ public class UniswapDayDataSyncHandler {
             }
         }
 
-        if (!rows.isEmpty()) {
-            uniswapDayDataRepository.saveAll(rows);
-            log.info("Saved {} uniswapDayData rows for chain: {}", rows.size(), chainId);
-        }
+        return () -> {
+            if (!rows.isEmpty()) {
+                uniswapDayDataRepository.saveAll(rows);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.EXPLORE_STATS));
+                log.info("Saved {} uniswapDayData rows for chain: {}", rows.size(), chainId);
+            }
+            return rows.size();
+        };
     }
 
     private UniswapDayData parseRow(String chainId, JsonNode node) {
@@ -1,10 +1,13 @@
 package com.dripswap.bff.sync;
 
+import com.dripswap.bff.cache.CacheInvalidationEvent;
+import com.dripswap.bff.cache.CacheNamespace;
 import com.dripswap.bff.entity.UniswapFactory;
 import com.dripswap.bff.repository.UniswapFactoryRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,12 +21,24 @@ import java.util.List;
 public class UniswapFactorySyncHandler {
 
     private final UniswapFactoryRepository uniswapFactoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handleFactories(String chainId, JsonNode factoriesNode) {
         if (factoriesNode == null || !factoriesNode.isArray()) {
             return;
         }
+        parseFactories(chainId, factoriesNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseFactories(String chainId, Iterable<JsonNode> factoriesNode) {
+        if (factoriesNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<UniswapFactory> factories = new ArrayList<>();
         for (JsonNode node : factoriesNode) {
@@ -34,10 +49,14 @@ public class UniswapFactorySyncHandler {
             }
         }
 
-        if (!factories.isEmpty()) {
-            uniswapFactoryRepository.saveAll(factories);
-            log.info("Saved {} uniswapFactories for chain: {}", factories.size(), chainId);
-        }
+        return () -> {
+            if (!factories.isEmpty()) {
+                uniswapFactoryRepository.saveAll(factories);
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(chainId, CacheNamespace.EXPLORE_STATS));
+                log.info("Saved {} uniswapFactories for chain: {}", factories.size(), chainId);
+            }
+            return factories.size();
+        };
     }
 
     private UniswapFactory parseFactory(String chainId, JsonNode node) {
@@ -23,6 +23,17 @@ public class UserSyncHandler {
         if (usersNode == null || !usersNode.isArray()) {
             return;
         }
+        parseUsers(chainId, usersNode).persist();
+    }
+
+    /**
+     * 解析一页数据，落库推迟到返回的 {@link ParsedPage}
+     * rows 可以是 JsonNode 数组，也可以是 {@link SubgraphClient} 边读边解析的流
+     */
+    public ParsedPage parseUsers(String chainId, Iterable<JsonNode> usersNode) {
+        if (usersNode == null) {
+            return ParsedPage.EMPTY;
+        }
 
         List<User> users = new ArrayList<>();
         for (JsonNode node : usersNode) {
@@ -36,10 +47,13 @@ public class UserSyncHandler {
             }
         }
 
-        if (!users.isEmpty()) {
-            userRepository.saveAll(users);
-            log.info("Saved {} users for chain: {}", users.size(), chainId);
-        }
+        return () -> {
+            if (!users.isEmpty()) {
+                userRepository.saveAll(users);
+                log.info("Saved {} users for chain: {}", users.size(), chainId);
+            }
+            return users.size();
+        };
     }
 }
 
@@ -0,0 +1,88 @@
+package com.dripswap.bff.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 子图 Token 归档窗口（minuteArray / hourArray，递增的周期序号）的紧凑二进制编码
+ *
+ * <p>布局：{@code [版本 1B][个数 varint][首值 zigzag varint][相邻差值 zigzag varint ...]}。
+ * 窗口内序号基本连续，差值多为 1，每个元素通常只占 1 字节（JSON 文本每个元素 9~10 字节）。</p>
+ */
+public final class RollingWindowCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final byte[] EMPTY = encode(new int[0]);
+
+    private RollingWindowCodec() {
+    }
+
+    public static byte[] empty() {
+        return EMPTY.clone();
+    }
+
+    public static byte[] encode(int[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + values.length);
+        out.write(VERSION);
+        writeVarint(out, values.length);
+        long previous = 0;
+        for (int value : values) {
+            writeVarint(out, zigzag(value - previous));
+            previous = value;
+        }
+        return out.toByteArray();
+    }
+
+    public static int[] decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new int[0];
+        }
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported rolling window encoding version " + data[0]);
+        }
+        int[] position = {1};
+        long count = readVarint(data, position);
+        if (count < 0 || count > data.length) {
+            throw new IllegalArgumentException("Corrupt rolling window: count " + count);
+        }
+        int[] values = new int[(int) count];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            previous += unzigzag(readVarint(data, position));
+            values[i] = Math.toIntExact(previous);
+        }
+        return values;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated rolling window: " + Arrays.toString(data));
+            }
+            byte b = data[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in rolling window");
+    }
+}
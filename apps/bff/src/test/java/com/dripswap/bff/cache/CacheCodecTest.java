@@ -0,0 +1,72 @@
+package com.dripswap.bff.cache;
+
+import com.dripswap.bff.gql.payload.ExploreTokenRowPayload;
+import com.dripswap.bff.gql.payload.TransactionPayload;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonCacheCodec json = new JsonCacheCodec(objectMapper);
+    private final SmileLz4CacheCodec smileLz4 = new SmileLz4CacheCodec(objectMapper);
+
+    @Test
+    void roundTripsTransactionPages() throws Exception {
+        List<TransactionPayload> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(TransactionPayload.builder()
+                    .id("0x" + Integer.toHexString(0x1000 + i) + "-" + i)
+                    .chainId("sepolia")
+                    .blockNumber(6_000_000L + i)
+                    .txHash(String.format("0x%064x", i))
+                    .eventSig("Swap")
+                    .decodedName("Swap")
+                    .decodedData("{\"pairId\":\"0xpair\",\"token0Symbol\":\"WETH\",\"token1Symbol\":\"USDC\","
+                            + "\"amount0In\":\"1.2345\",\"amountUSD\":\"" + (1000 + i) + ".123456789\"}")
+                    .status("success")
+                    .createdAt("2024-06-01T00:00:00Z")
+                    .build());
+        }
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionPayload.class);
+
+        assertRoundTrip(rows, type);
+    }
+
+    @Test
+    void roundTripsTokenRowsWithDecimals() throws Exception {
+        List<ExploreTokenRowPayload> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(ExploreTokenRowPayload.builder()
+                    .id(String.format("0x%040x", i))
+                    .chainId("sepolia")
+                    .symbol("TK" + i)
+                    .name("Token " + i)
+                    .decimals(18)
+                    .totalSupply(new BigDecimal("1000000000000000000000000"))
+                    .derivedETH(new BigDecimal("0.000123456789012345678").add(BigDecimal.valueOf(i)))
+                    .build());
+        }
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, ExploreTokenRowPayload.class);
+
+        assertRoundTrip(rows, type);
+    }
+
+    private void assertRoundTrip(List<?> rows, JavaType type) throws Exception {
+        byte[] jsonBytes = json.encode(rows);
+        byte[] compactBytes = smileLz4.encode(rows);
+
+        assertEquals(rows, json.decode(jsonBytes, 0, jsonBytes.length, type));
+        assertEquals(rows, smileLz4.decode(compactBytes, 0, compactBytes.length, type));
+        assertTrue(compactBytes.length * 2 < jsonBytes.length,
+                "smile-lz4 " + compactBytes.length + " bytes vs json " + jsonBytes.length + " bytes");
+    }
+}
@@ -0,0 +1,129 @@
+package com.dripswap.bff.cache;
+
+import com.dripswap.bff.config.QueryCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, byte[]> values = mock(ValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private QueryCache newCache() {
+        RedisTemplate<String, byte[]> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new QueryCache(redisTemplate, objectMapper, meterRegistry, new QueryCacheProperties(),
+                List.of(new JsonCacheCodec(objectMapper), new SmileLz4CacheCodec(objectMapper)));
+    }
+
+    @Test
+    void servesRepeatedReadsFromL1() {
+        QueryCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v", cache.get(CacheNamespace.TOKEN_LIST, CacheNamespace.TOKEN_LIST.key("c", "k"), Duration.ofMinutes(1), String.class, () -> {
+                loads.incrementAndGet();
+                return "v";
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        verify(values, times(1)).get(anyString());
+        assertEquals(2.0, meterRegistry.counter("dripswap.cache.gets", "namespace", "tokens:list", "result", "l1_hit").count());
+    }
+
+    @Test
+    void evictLocalDropsOnlyMatchingChainAndNamespace() {
+        QueryCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+        String sepolia = CacheNamespace.TOKEN_LIST.key("sepolia", 50, "all");
+        String scroll = CacheNamespace.TOKEN_LIST.key("scroll-sepolia", 50, "all");
+
+        cache.get(CacheNamespace.TOKEN_LIST, sepolia, Duration.ofMinutes(1), String.class, () -> "v" + loads.incrementAndGet());
+        cache.get(CacheNamespace.TOKEN_LIST, scroll, Duration.ofMinutes(1), String.class, () -> "v" + loads.incrementAndGet());
+        cache.evictLocal("sepolia", CacheNamespace.TOKEN_LIST);
+
+        assertEquals("v3", cache.get(CacheNamespace.TOKEN_LIST, sepolia, Duration.ofMinutes(1), String.class, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v2", cache.get(CacheNamespace.TOKEN_LIST, scroll, Duration.ofMinutes(1), String.class, () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void loadRacingAnEvictionIsNotCached() {
+        QueryCache cache = newCache();
+        String key = CacheNamespace.EXPLORE_STATS.key("sepolia", 30);
+
+        assertEquals("stale", cache.get(CacheNamespace.EXPLORE_STATS, key, Duration.ofMinutes(1), String.class, () -> {
+            cache.evictLocal("sepolia", CacheNamespace.EXPLORE_STATS);
+            return "stale";
+        }));
+
+        assertEquals("fresh", cache.get(CacheNamespace.EXPLORE_STATS, key, Duration.ofMinutes(1), String.class, () -> "fresh"));
+        verify(values, times(1)).set(anyString(), any(byte[].class), any(Duration.class));
+    }
+
+    @Test
+    void readsLegacyJsonTextWithoutFormatByte() {
+        QueryCache cache = newCache();
+        String key = CacheNamespace.EXPLORE_STATS.key("sepolia", 30);
+        when(values.get(key)).thenReturn("\"cached\"".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("cached", cache.get(CacheNamespace.EXPLORE_STATS, key, Duration.ofMinutes(1), String.class, () -> "loaded"));
+    }
+
+    @Test
+    void coalescesConcurrentMisses() throws Exception {
+        QueryCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.get(CacheNamespace.TOKEN_LIST, CacheNamespace.TOKEN_LIST.key("c", "k"), Duration.ofMinutes(1), String.class, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "v";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("v", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,36 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.config.GraphQlRequestCacheProperties;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingDocumentProviderTest {
+
+    @Test
+    void parsesEachQueryTextOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachingDocumentProvider provider = new CachingDocumentProvider(new GraphQlRequestCacheProperties(), registry);
+        AtomicInteger parses = new AtomicInteger();
+        Function<ExecutionInput, PreparsedDocumentEntry> parse = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+
+        PreparsedDocumentEntry first = provider.getDocumentAsync(ExecutionInput.newExecutionInput("{ ping }").build(), parse).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(ExecutionInput.newExecutionInput("{ ping }").build(), parse).join();
+
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(1.0, registry.get("dripswap.graphql.documents").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("dripswap.graphql.documents").tag("result", "miss").counter().count());
+    }
+}
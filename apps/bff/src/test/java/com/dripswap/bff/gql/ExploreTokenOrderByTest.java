@@ -0,0 +1,47 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.entity.TokenStats;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExploreTokenOrderByTest {
+
+    // 2024-06-15T00:30:10Z
+    private static final long NOW = 1718409600L + 30 * 60 + 10;
+
+    @Test
+    void windowMetricsExpireWithTheLatestHour() {
+        TokenStats twoHoursOld = stats((int) (1718409600L - 2 * 3600));
+        assertNull(ExploreTokenOrderBy.CHANGE_1H.valueOf(twoHoursOld, NOW));
+        assertEquals(BigDecimal.ONE, ExploreTokenOrderBy.CHANGE_1D.valueOf(twoHoursOld, NOW));
+        assertEquals(BigDecimal.ONE, ExploreTokenOrderBy.VOLUME_24H_USD.valueOf(twoHoursOld, NOW));
+
+        TokenStats threeDaysOld = stats((int) (1718409600L - 3 * 86400));
+        assertNull(ExploreTokenOrderBy.CHANGE_1D.valueOf(threeDaysOld, NOW));
+        assertNull(ExploreTokenOrderBy.VOLUME_24H_USD.valueOf(threeDaysOld, NOW));
+        assertEquals(BigDecimal.ONE, ExploreTokenOrderBy.PRICE_USD.valueOf(threeDaysOld, NOW));
+
+        assertEquals(BigDecimal.ONE, ExploreTokenOrderBy.CHANGE_1H.valueOf(stats(1718409600), NOW));
+    }
+
+    @Test
+    void freshSinceMatchesValueOf() {
+        assertNull(ExploreTokenOrderBy.FDV_USD.freshSince(NOW));
+        assertEquals(1718409600, ExploreTokenOrderBy.CHANGE_1H.freshSince(NOW));
+        assertEquals((int) (NOW - 2 * 86400), ExploreTokenOrderBy.CHANGE_1D.freshSince(NOW));
+    }
+
+    private static TokenStats stats(Integer latestHourStart) {
+        TokenStats stats = new TokenStats();
+        stats.setLatestHourStart(latestHourStart);
+        stats.setPriceUsd(BigDecimal.ONE);
+        stats.setChange1h(BigDecimal.ONE);
+        stats.setChange1d(BigDecimal.ONE);
+        stats.setVolume24hUsd(BigDecimal.ONE);
+        return stats;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.cache.CacheNamespace;
+import com.dripswap.bff.cache.ResponseByteCache;
+import com.dripswap.bff.config.GraphQlRequestCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GraphQlRequestFilterTest {
+
+    private static final String QUERY = "query ExploreStats($chainId: String!) { exploreStats(chainId: $chainId) { tvlUsd } }";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> executedBodies = new ArrayList<>();
+    private final GraphQlRequestFilter filter;
+    private final ResponseByteCache responseCache;
+
+    @SuppressWarnings("unchecked")
+    GraphQlRequestFilterTest() {
+        GraphQlRequestCacheProperties properties = new GraphQlRequestCacheProperties();
+        properties.getResponseCache().setOperations(Map.of("ExploreStats", Set.of(CacheNamespace.EXPLORE_STATS)));
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseByteCache(properties, meterRegistry);
+        filter = new GraphQlRequestFilter(new PersistedQueryStore(redisTemplate, properties), responseCache,
+                objectMapper, meterRegistry, "/graphql");
+    }
+
+    @Test
+    void resolvesRegisteredHashOnlyRequests() throws Exception {
+        String hash = PersistedQueryStore.sha256Hex(QUERY);
+
+        MockHttpServletResponse notFound = post(Map.of("extensions", apq(hash)));
+        assertTrue(notFound.getContentAsString().contains("PersistedQueryNotFound"));
+        assertTrue(executedBodies.isEmpty());
+
+        post(Map.of("query", QUERY, "extensions", apq(hash)));
+        post(Map.of("extensions", apq(hash), "variables", Map.of("chainId", "sepolia")));
+
+        assertEquals(2, executedBodies.size());
+        assertEquals(QUERY, objectMapper.readTree(executedBodies.get(1)).get("query").asText());
+    }
+
+    @Test
+    void rejectsHashThatDoesNotMatchQuery() throws Exception {
+        MockHttpServletResponse response = post(Map.of("query", QUERY, "extensions", apq("00")));
+
+        assertEquals(400, response.getStatus());
+        assertTrue(executedBodies.isEmpty());
+    }
+
+    @Test
+    void servesOptedInOperationsFromCachedBytesUntilEvicted() throws Exception {
+        Map<String, Object> body = Map.of("query", QUERY, "operationName", "ExploreStats",
+                "variables", Map.of("chainId", "sepolia"));
+
+        String first = post(body).getContentAsString();
+        MockHttpServletResponse second = post(body);
+        post(Map.of("query", QUERY, "operationName", "ExploreStats", "variables", Map.of("chainId", "scroll-sepolia")));
+
+        assertEquals(first, second.getContentAsString());
+        assertEquals("HIT", second.getHeader("X-Response-Cache"));
+        assertEquals(2, executedBodies.size());
+
+        responseCache.evict(CacheNamespace.EXPLORE_STATS);
+        post(body);
+        assertEquals(3, executedBodies.size());
+    }
+
+    private MockHttpServletResponse post(Map<String, Object> body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContentType("application/json");
+        request.setContent(objectMapper.writeValueAsBytes(body));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new EchoServlet()));
+        return response;
+    }
+
+    private static Map<String, Object> apq(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private final class EchoServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            executedBodies.add(body);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"data\":{\"n\":" + executedBodies.size() + "}}");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.config.LiveFeedProperties;
+import com.dripswap.bff.entity.Swap;
+import com.dripswap.bff.gql.payload.TokenOhlcPayload;
+import com.dripswap.bff.gql.payload.TransactionPayload;
+import com.dripswap.bff.repository.PairRepository;
+import com.dripswap.bff.sync.CandleSourceCommittedEvent;
+import com.dripswap.bff.sync.SwapsCommittedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveFeedTest {
+
+    private static final String CHAIN = "sepolia";
+    private static final String OTHER_CHAIN = "scroll-sepolia";
+
+    private final QueryResolver queryResolver = mock(QueryResolver.class);
+    private final TokenCandleLoader tokenCandleLoader = mock(TokenCandleLoader.class);
+    private final LiveFeedProperties properties = new LiveFeedProperties();
+    private LiveFeed liveFeed;
+
+    @AfterEach
+    void shutdown() {
+        if (liveFeed != null) {
+            liveFeed.shutdown();
+        }
+    }
+
+    @Test
+    void removesTopicWhenLastSubscriberLeaves() {
+        liveFeed = newLiveFeed();
+        when(queryResolver.swapPayloads(any(), anyList())).thenAnswer(invocation -> payloads(invocation.getArgument(1)));
+
+        Disposable first = liveFeed.swaps(CHAIN, null).subscribe();
+        Disposable second = liveFeed.swaps(CHAIN, null).subscribe();
+
+        first.dispose();
+        liveFeed.onSwapsCommitted(new SwapsCommittedEvent(CHAIN, List.of(swap("0x1", now()))));
+        verify(queryResolver, timeout(2000).times(1)).swapPayloads(eq(CHAIN), anyList());
+
+        second.dispose();
+        liveFeed.onSwapsCommitted(new SwapsCommittedEvent(CHAIN, List.of(swap("0x2", now()))));
+        verify(queryResolver, after(300).times(1)).swapPayloads(eq(CHAIN), anyList());
+    }
+
+    @Test
+    void slowSwapSubscriberDropsOldest() {
+        properties.setSwapBufferSize(2);
+        liveFeed = newLiveFeed();
+        when(queryResolver.swapPayloads(any(), anyList())).thenAnswer(invocation -> payloads(invocation.getArgument(1)));
+
+        Stalled<TransactionPayload> slow = new Stalled<>();
+        liveFeed.swaps(CHAIN, null).subscribe(slow);
+        Disposable barrier = liveFeed.swaps(OTHER_CHAIN, null).subscribe();
+
+        long now = now();
+        List<Swap> swaps = IntStream.range(0, 5).mapToObj(i -> swap("0x" + i, now + i)).toList();
+        liveFeed.onSwapsCommitted(new SwapsCommittedEvent(CHAIN, swaps));
+        // 推送线程按顺序执行，第二个事件被处理时第一个已经推完
+        liveFeed.onSwapsCommitted(new SwapsCommittedEvent(OTHER_CHAIN, List.of(swap("0xb", now))));
+        verify(queryResolver, timeout(2000)).swapPayloads(eq(OTHER_CHAIN), anyList());
+
+        slow.requestUnbounded();
+        assertEquals(List.of("0x3", "0x4"), slow.received.stream().map(TransactionPayload::getId).toList());
+        barrier.dispose();
+    }
+
+    @Test
+    void skipsSwapsOlderThanMaxAge() {
+        liveFeed = newLiveFeed();
+        Disposable subscriber = liveFeed.swaps(CHAIN, null).subscribe();
+
+        liveFeed.onSwapsCommitted(new SwapsCommittedEvent(CHAIN, List.of(swap("0xold", now() - 3600))));
+
+        verify(queryResolver, after(300).never()).swapPayloads(any(), anyList());
+        subscriber.dispose();
+    }
+
+    @Test
+    void slowCandleSubscriberGetsOnlyTheLatest() {
+        liveFeed = newLiveFeed();
+        int period = (int) (now() / 60 * 60);
+        when(tokenCandleLoader.loadBucket(eq(CHAIN), eq("0xa"), eq(TokenChartInterval.MINUTE), anyInt()))
+                .thenReturn(candle(period, "1"), candle(period, "2"), candle(period, "3"));
+
+        Stalled<TokenOhlcPayload> slow = new Stalled<>();
+        liveFeed.candles(CHAIN, "0xa", TokenChartInterval.MINUTE).subscribe(slow);
+        Disposable barrier = liveFeed.candles(CHAIN, "0xb", TokenChartInterval.MINUTE).subscribe();
+
+        for (int i = 0; i < 3; i++) {
+            liveFeed.onCandleSourceCommitted(new CandleSourceCommittedEvent(CHAIN, false, Map.of("0xa", period)));
+        }
+        liveFeed.onCandleSourceCommitted(new CandleSourceCommittedEvent(CHAIN, false, Map.of("0xb", period)));
+        verify(tokenCandleLoader, timeout(2000)).loadBucket(eq(CHAIN), eq("0xb"), eq(TokenChartInterval.MINUTE), anyInt());
+        verify(tokenCandleLoader, times(3)).loadBucket(eq(CHAIN), eq("0xa"), eq(TokenChartInterval.MINUTE), anyInt());
+
+        slow.requestUnbounded();
+        assertEquals(List.of(new BigDecimal("3")), slow.received.stream().map(TokenOhlcPayload::getClose).toList());
+        barrier.dispose();
+    }
+
+    @Test
+    void onlyCurrentAndPreviousBucketsAreLive() {
+        long now = 1718409600L + 30 * 60 + 10;
+        assertTrue(LiveFeed.isLive(TokenChartInterval.HOUR, 1718409600L, now));
+        assertTrue(LiveFeed.isLive(TokenChartInterval.HOUR, 1718409600L - 3600, now));
+        assertFalse(LiveFeed.isLive(TokenChartInterval.HOUR, 1718409600L - 2 * 3600, now));
+        assertFalse(LiveFeed.isLive(TokenChartInterval.MINUTE, now - 180, now));
+    }
+
+    private LiveFeed newLiveFeed() {
+        return new LiveFeed(queryResolver, tokenCandleLoader, mock(PairRepository.class), properties);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static Swap swap(String id, long timestamp) {
+        Swap swap = new Swap();
+        swap.setId(id);
+        swap.setChainId(CHAIN);
+        swap.setTimestamp(timestamp);
+        swap.setLogIndex(0L);
+        return swap;
+    }
+
+    private static List<TransactionPayload> payloads(List<Swap> swaps) {
+        return swaps.stream().map(swap -> TransactionPayload.builder().id(swap.getId()).build()).toList();
+    }
+
+    private static TokenOhlcPayload candle(int timestamp, String close) {
+        return TokenOhlcPayload.builder().timestamp(timestamp).close(new BigDecimal(close)).build();
+    }
+
+    /**
+     * 订阅后不请求数据，模拟跟不上推送的客户端
+     */
+    private static final class Stalled<T> extends BaseSubscriber<T> {
+
+        private final List<T> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(T value) {
+            received.add(value);
+        }
+    }
+}
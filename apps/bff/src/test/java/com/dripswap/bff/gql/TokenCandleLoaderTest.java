@@ -0,0 +1,123 @@
+package com.dripswap.bff.gql;
+
+import com.dripswap.bff.cache.JsonCacheCodec;
+import com.dripswap.bff.cache.QueryCache;
+import com.dripswap.bff.cache.SmileLz4CacheCodec;
+import com.dripswap.bff.config.QueryCacheProperties;
+import com.dripswap.bff.entity.SyncStatus;
+import com.dripswap.bff.gql.payload.TokenOhlcPayload;
+import com.dripswap.bff.repository.OhlcBucket;
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.dripswap.bff.repository.TokenHourDataRepository;
+import com.dripswap.bff.repository.TokenMinuteDataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenCandleLoaderTest {
+
+    private static final int HOUR = 3600;
+    private static final int CHUNK = TokenCandleLoader.CHUNK_BUCKETS * HOUR;
+
+    private final TokenMinuteDataRepository minuteRepository = mock(TokenMinuteDataRepository.class);
+    private final TokenHourDataRepository hourRepository = mock(TokenHourDataRepository.class);
+    private final SyncStatusRepository syncStatusRepository = mock(SyncStatusRepository.class);
+
+    @Test
+    void cachesClosedChunksAndRequeriesOnlyTheOpenOne() {
+        TokenCandleLoader loader = newLoader();
+
+        int closedStart = 1000 * CHUNK;
+        int openStart = closedStart + CHUNK;
+        SyncStatus status = new SyncStatus();
+        status.setLastSyncedTimestamp(openStart + 10 * HOUR);
+        when(syncStatusRepository.findById("sepolia:tokenHourData")).thenReturn(Optional.of(status));
+        when(hourRepository.findCandles(anyString(), anyString(), anyInt(), anyInt(), eq(HOUR), eq(0)))
+                .thenAnswer(invocation -> buckets(invocation.getArgument(2), invocation.getArgument(3), HOUR));
+
+        for (int i = 0; i < 3; i++) {
+            List<TokenOhlcPayload> candles = loader.load("sepolia", "0xtoken", TokenChartInterval.HOUR, closedStart + HOUR / 2, openStart + HOUR + 1, 5000);
+            List<Integer> timestamps = candles.stream().map(TokenOhlcPayload::getTimestamp).toList();
+            assertEquals(TokenCandleLoader.CHUNK_BUCKETS + 2, timestamps.size());
+            assertEquals(closedStart, timestamps.get(0));
+            assertEquals(openStart + HOUR, timestamps.get(timestamps.size() - 1));
+        }
+
+        verify(hourRepository, times(1)).findCandles("sepolia", "0xtoken", closedStart, openStart - 1, HOUR, 0);
+        // 尾部块同样查整桶：to 落在 openStart + HOUR 这根桶内，查询到桶末而不是 to
+        verify(hourRepository, times(3)).findCandles("sepolia", "0xtoken", openStart, openStart + 2 * HOUR - 1, HOUR, 0);
+    }
+
+    @Test
+    void minuteCandlesWidenedToAnHourDoNotShareChunksWithHourCandles() {
+        TokenCandleLoader loader = newLoader();
+        int chunkStart = 1000 * CHUNK;
+        SyncStatus status = new SyncStatus();
+        status.setLastSyncedTimestamp(chunkStart + 2 * CHUNK);
+        when(syncStatusRepository.findById(anyString())).thenReturn(Optional.of(status));
+        when(minuteRepository.findCandles(anyString(), anyString(), anyInt(), anyInt(), eq(HOUR), eq(0)))
+                .thenAnswer(invocation -> List.of(bucket(invocation.getArgument(2), BigDecimal.TEN)));
+        when(hourRepository.findCandles(anyString(), anyString(), anyInt(), anyInt(), eq(HOUR), eq(0)))
+                .thenAnswer(invocation -> List.of(bucket(invocation.getArgument(2), BigDecimal.ONE)));
+
+        // 500 根上限下，一整块的分钟 K 线放宽为 3600s 桶，与小时 K 线同宽
+        int to = chunkStart + CHUNK - 1;
+        assertEquals(HOUR, TokenChartInterval.MINUTE.bucketSeconds(chunkStart, to, 501));
+        List<TokenOhlcPayload> minute = loader.load("sepolia", "0xtoken", TokenChartInterval.MINUTE, chunkStart, to, 501);
+        List<TokenOhlcPayload> hour = loader.load("sepolia", "0xtoken", TokenChartInterval.HOUR, chunkStart, to, 501);
+
+        assertEquals(BigDecimal.TEN, minute.get(0).getClose());
+        assertEquals(BigDecimal.ONE, hour.get(0).getClose());
+        verify(minuteRepository, times(1)).findCandles("sepolia", "0xtoken", chunkStart, to, HOUR, 0);
+        verify(hourRepository, times(1)).findCandles("sepolia", "0xtoken", chunkStart, to, HOUR, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenCandleLoader newLoader() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RedisTemplate<String, byte[]> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        QueryCache queryCache = new QueryCache(redisTemplate, objectMapper, new SimpleMeterRegistry(), new QueryCacheProperties(),
+                List.of(new JsonCacheCodec(objectMapper), new SmileLz4CacheCodec(objectMapper)));
+        return new TokenCandleLoader(minuteRepository, hourRepository, syncStatusRepository, queryCache, objectMapper);
+    }
+
+    /**
+     * [from, to] 内每个桶一行，和真实查询一样随区间变化
+     */
+    private static List<OhlcBucket> buckets(int from, int to, int width) {
+        List<OhlcBucket> buckets = new ArrayList<>();
+        for (int start = Math.floorDiv(from, width) * width; start <= to; start += width) {
+            buckets.add(bucket(start, BigDecimal.ONE));
+        }
+        return buckets;
+    }
+
+    private static OhlcBucket bucket(int start, BigDecimal one) {
+        return new OhlcBucket() {
+            public Integer getBucketStart() { return start; }
+            public BigDecimal getOpen() { return one; }
+            public BigDecimal getHigh() { return one; }
+            public BigDecimal getLow() { return one; }
+            public BigDecimal getClose() { return one; }
+            public BigDecimal getVolumeUsd() { return one; }
+            public BigDecimal getTvlUsd() { return one; }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.dripswap.bff.gql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenChartIntervalTest {
+
+    @Test
+    void keepsIntervalWhenRangeFits() {
+        assertEquals(300, TokenChartInterval.FIVE_MINUTES.bucketSeconds(0, 86400, 5000));
+        assertEquals(604800, TokenChartInterval.WEEK.bucketSeconds(0, 365 * 86400, 5000));
+    }
+
+    @Test
+    void widensToMultipleOfIntervalWithinPointLimit() {
+        int from = 1_700_000_123;
+        int to = from + 30 * 86400;
+        int bucket = TokenChartInterval.MINUTE.bucketSeconds(from, to, 5000);
+
+        assertEquals(0, bucket % 60);
+        long alignedBuckets = (to / bucket) - (from / bucket) + 1;
+        assertTrue(alignedBuckets <= 5000, "buckets=" + alignedBuckets);
+    }
+}
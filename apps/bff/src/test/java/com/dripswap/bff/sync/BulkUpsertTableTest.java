@@ -0,0 +1,63 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkUpsertTableTest {
+
+    @Test
+    void encodesCsvWithNullsQuotesAndPlainDecimals() {
+        StringBuilder csv = new StringBuilder();
+        BulkUpsertTable.appendCsvValue(csv, null);
+        csv.append(',');
+        BulkUpsertTable.appendCsvValue(csv, "");
+        csv.append(',');
+        BulkUpsertTable.appendCsvValue(csv, "a\"b,c");
+        csv.append(',');
+        BulkUpsertTable.appendCsvValue(csv, new BigDecimal("1E+3"));
+        csv.append(',');
+        BulkUpsertTable.appendCsvValue(csv, true);
+        csv.append(',');
+        BulkUpsertTable.appendCsvValue(csv, new byte[]{1, (byte) 0xab});
+
+        assertEquals(",\"\",\"a\"\"b,c\",1000,true,\\x01ab", csv.toString());
+    }
+
+    @Test
+    void dedupesByChainAndIdKeepingLastRow() {
+        Transaction first = tx("0x1", 1L);
+        Transaction other = tx("0x2", 2L);
+        Transaction replacement = tx("0x1", 3L);
+
+        List<Transaction> unique = TransactionSyncHandler.TRANSACTIONS.dedupe(List.of(first, other, replacement));
+
+        assertEquals(2, unique.size());
+        assertEquals(3L, unique.get(0).getBlockNumber());
+        assertEquals("0x2", unique.get(1).getId());
+    }
+
+    @Test
+    void mergeKeepsKeysOutOfUpdateSet() {
+        String sql = TransactionSyncHandler.TRANSACTIONS.mergeSql();
+
+        assertTrue(sql.startsWith("WITH staged AS (DELETE FROM stage_transactions RETURNING "));
+        assertTrue(sql.contains("ON CONFLICT (chain_id, id, timestamp) DO UPDATE SET block_number = EXCLUDED.block_number"));
+        assertFalse(sql.contains(" id = EXCLUDED.id"));
+        assertFalse(sql.contains("timestamp = EXCLUDED.timestamp"));
+    }
+
+    private static Transaction tx(String id, long blockNumber) {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setChainId("sepolia");
+        tx.setBlockNumber(blockNumber);
+        return tx;
+    }
+}
@@ -0,0 +1,130 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.entity.Transaction;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 013-partitioned-event-tables.xml 的分区函数和分区表上的批量 upsert，跑在嵌入式 Postgres 上
+ */
+class EventPartitionFunctionsTest {
+
+    // 2024-06-15T00:00:00Z / 2024-07-15T00:00:00Z
+    private static final long JUNE = 1718409600L;
+    private static final long JULY = 1721001600L;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void ensureCreatesChainAndMonthPartitionsAndMovesDefaultRows() {
+        insertTransaction("0xa1", "chain-a", JUNE);
+        assertEquals("transactions_default", partitionOf("0xa1"));
+
+        assertEquals(2, ensure("chain-a", JUNE, JUNE));
+        assertEquals("transactions_chain_a_202406", partitionOf("0xa1"));
+
+        // 已存在时不再创建；区间跨月时补齐缺的月份
+        assertEquals(0, ensure("chain-a", JUNE, JUNE));
+        assertEquals(1, ensure("chain-a", JUNE, JULY));
+        insertTransaction("0xa2", "chain-a", JULY);
+        assertEquals("transactions_chain_a_202407", partitionOf("0xa2"));
+    }
+
+    @Test
+    void drainGivesEveryDefaultRowItsOwnPartition() {
+        assertEquals(2, ensure("chain-b", JUNE, JUNE));
+        insertTransaction("0xb1", "chain-b", JULY);
+        insertTransaction("0xc1", "chain-c", JUNE);
+        assertEquals("transactions_chain_b_default", partitionOf("0xb1"));
+        assertEquals("transactions_default", partitionOf("0xc1"));
+
+        // chain-b 的 7 月分区，chain-c 的链分区和 6 月分区
+        assertEquals(3, jdbc.queryForObject("SELECT ds_drain_event_defaults('transactions')", Integer.class));
+
+        assertEquals("transactions_chain_b_202407", partitionOf("0xb1"));
+        assertEquals("transactions_chain_c_202406", partitionOf("0xc1"));
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM transactions_default", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM transactions_chain_b_default", Integer.class));
+    }
+
+    @Test
+    void bulkUpsertMergesOnPartitionedKey() throws Exception {
+        ensure("chain-d", JUNE, JUNE);
+        BulkUpsertTable<Transaction> table = TransactionSyncHandler.TRANSACTIONS;
+
+        upsert(table, List.of(tx("0xd1", 1L), tx("0xd2", 2L)));
+        upsert(table, List.of(tx("0xd1", 10L)));
+
+        assertEquals(List.of(10L, 2L), jdbc.queryForList(
+                "SELECT block_number FROM transactions WHERE chain_id = 'chain-d' ORDER BY id", Long.class));
+        assertEquals("transactions_chain_d_202406", partitionOf("0xd1"));
+    }
+
+    private static int ensure(String chainId, long from, long to) {
+        return jdbc.queryForObject("SELECT ds_ensure_event_partitions('transactions', ?, ?, ?)", Integer.class, chainId, from, to);
+    }
+
+    private static void insertTransaction(String id, String chainId, long timestamp) {
+        jdbc.update("INSERT INTO transactions (id, chain_id, block_number, \"timestamp\") VALUES (?, ?, 1, ?)", id, chainId, timestamp);
+    }
+
+    private static String partitionOf(String id) {
+        return jdbc.queryForObject("SELECT tableoid::regclass::text FROM transactions WHERE id = ?", String.class, id);
+    }
+
+    private static void upsert(BulkUpsertTable<Transaction> table, List<Transaction> rows) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(table.createStageSql());
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(table.copySql(), new StringReader(table.toCsv(table.dedupe(rows))));
+                statement.executeUpdate(table.mergeSql());
+            }
+            connection.commit();
+        }
+    }
+
+    private static Transaction tx(String id, long blockNumber) {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setChainId("chain-d");
+        tx.setBlockNumber(blockNumber);
+        tx.setTimestamp(JUNE);
+        return tx;
+    }
+}
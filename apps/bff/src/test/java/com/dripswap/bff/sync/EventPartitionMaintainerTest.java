@@ -0,0 +1,17 @@
+package com.dripswap.bff.sync;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventPartitionMaintainerTest {
+
+    @Test
+    void monthStartTruncatesToUtcCalendarMonth() {
+        // 2024-02-29T23:59:59Z → 2024-02-01T00:00:00Z
+        assertEquals(1706745600L, EventPartitionMaintainer.monthStart(1709251199L));
+        // 2024-03-01T00:00:00Z 是下一个月的起点
+        assertEquals(1709251200L, EventPartitionMaintainer.monthStart(1709251200L));
+        assertEquals(0L, EventPartitionMaintainer.monthStart(0L));
+    }
+}
@@ -0,0 +1,27 @@
+package com.dripswap.bff.sync;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GraphNodeNamesTest {
+
+    @Test
+    void mapsGraphQlNamesToGraphNodeColumns() {
+        assertEquals("id", GraphNodeNames.snakeCase("id"));
+        assertEquals("token_minute_data", GraphNodeNames.snakeCase("TokenMinuteData"));
+        assertEquals("volume_usd", GraphNodeNames.snakeCase("volumeUSD"));
+        assertEquals("total_volume_eth", GraphNodeNames.snakeCase("totalVolumeETH"));
+        assertEquals("token_0_price", GraphNodeNames.snakeCase("token0Price"));
+        assertEquals("amount_0_in", GraphNodeNames.snakeCase("amount0In"));
+        assertEquals("reserve_0", GraphNodeNames.snakeCase("reserve0"));
+    }
+
+    @Test
+    void rejectsUnsafeSchemaNames() {
+        assertEquals("sgd12", GraphNodeNames.checkSchema("sgd12"));
+        assertThrows(IllegalArgumentException.class, () -> GraphNodeNames.checkSchema("sgd1; drop table x"));
+        assertThrows(IllegalArgumentException.class, () -> GraphNodeNames.checkSchema(null));
+    }
+}
@@ -0,0 +1,78 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.config.SubgraphHttpProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class JdkHttpSubgraphTransportTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void abortsStalledBodyAndReturnsThePermit() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/stall", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, 1000);
+            OutputStream body = exchange.getResponseBody();
+            body.write("{\"data\":".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/ok", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] ok = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, ok.length);
+            exchange.getResponseBody().write(ok);
+            exchange.close();
+        });
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        SubgraphHttpProperties properties = new SubgraphHttpProperties();
+        properties.setHttp2(false);
+        properties.setRequestTimeoutMs(300);
+        properties.setMaxInFlightPerHost(1);
+        JdkHttpSubgraphTransport transport = new JdkHttpSubgraphTransport(properties);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            try (InputStream in = transport.post(base + "/stall", "{}".getBytes(StandardCharsets.UTF_8))) {
+                assertThrows(HttpTimeoutException.class, in::readAllBytes);
+            }
+            // 唯一的在途许可已随超时归还
+            try (InputStream in = transport.post(base + "/ok", "{}".getBytes(StandardCharsets.UTF_8))) {
+                assertEquals("{}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.dripswap.bff.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubgraphStatusMonitorTest {
+
+    @Test
+    void freshnessOnlyDependsOnLagBehindTheHead() {
+        SubgraphStatusMonitor.ChainStatus unreachable = status(1_000, 1_600, 1, 0);
+
+        assertEquals(600L, unreachable.lagSeconds());
+        assertTrue(unreachable.isFresh());
+        assertFalse(unreachable.isHealthy());
+        assertEquals("1 of 2 subgraph endpoints unreachable", unreachable.message());
+
+        SubgraphStatusMonitor.ChainStatus stale = status(1_000, 2_000, 0, 0);
+        assertFalse(stale.isFresh());
+        assertTrue(stale.message().startsWith("Synced data is 1000s behind"));
+
+        assertTrue(status(1_000, 1_100, 0, 0).isHealthy());
+    }
+
+    @Test
+    void neverSyncedChainIsNotFresh() {
+        SubgraphStatusMonitor.ChainStatus status = status(null, 1_000, 0, 0);
+
+        assertNull(status.lagSeconds());
+        assertFalse(status.isFresh());
+    }
+
+    private static SubgraphStatusMonitor.ChainStatus status(Integer synced, Integer head, int unreachable, int indexingErrors) {
+        return new SubgraphStatusMonitor.ChainStatus("sepolia", 10L, synced, 20L, head, 2, unreachable, indexingErrors, 900, Instant.now());
+    }
+}
@@ -0,0 +1,58 @@
+package com.dripswap.bff.sync;
+
+import com.dripswap.bff.repository.SyncStatusRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class SyncMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SyncMetrics metrics = new SyncMetrics(registry, mock(SyncStatusRepository.class));
+
+    @Test
+    void countsRowsDroppedByTheParserAsSkipped() throws Exception {
+        JsonNode rows = new ObjectMapper().readTree("[{\"id\":\"a\"},{\"id\":null},{\"id\":\"c\"}]");
+
+        ParsedPage page = metrics.parse("sepolia", "swap", rows, (chainId, nodes) -> {
+            List<String> ids = new ArrayList<>();
+            for (JsonNode node : nodes) {
+                if (node.hasNonNull("id")) {
+                    ids.add(node.get("id").asText());
+                }
+            }
+            return ids::size;
+        });
+
+        assertEquals(2, page.persist());
+        assertEquals(3.0, rows("fetched"));
+        assertEquals(2.0, rows("persisted"));
+        assertEquals(1.0, rows("skipped"));
+        assertEquals(1L, registry.get("dripswap.sync.persist").tag("entity", "swap").timer().count());
+    }
+
+    @Test
+    void tagsRequestsWithTheBoundChainOnly() {
+        try (SyncMetrics.Scope ignored = metrics.bind("sepolia")) {
+            metrics.recordRequest(1_000_000, true);
+        }
+        metrics.recordRequest(1_000_000, false);
+
+        assertEquals(1L, registry.get("dripswap.subgraph.request").tags("chain", "sepolia", "outcome", "success").timer().count());
+        assertEquals(1L, registry.get("dripswap.subgraph.request").tags("chain", "none", "outcome", "error").timer().count());
+        // 直方图序列不再乘以实体数
+        assertNull(registry.get("dripswap.subgraph.request").timer().getId().getTag("entity"));
+    }
+
+    private double rows(String stage) {
+        return registry.get("dripswap.sync.rows").tags("chain", "sepolia", "entity", "swap", "stage", stage).counter().count();
+    }
+}
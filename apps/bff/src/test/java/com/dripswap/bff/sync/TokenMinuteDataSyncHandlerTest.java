@@ -1,17 +1,20 @@
 package com.dripswap.bff.sync;
 
 import com.dripswap.bff.entity.TokenMinuteData;
-import com.dripswap.bff.repository.TokenMinuteDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -21,8 +24,8 @@ class TokenMinuteDataSyncHandlerTest {
 
     @Test
     void savesParsedRows() throws Exception {
-        TokenMinuteDataRepository repo = mock(TokenMinuteDataRepository.class);
-        TokenMinuteDataSyncHandler handler = new TokenMinuteDataSyncHandler(repo);
+        PgBulkUpserter upserter = mock(PgBulkUpserter.class);
+        TokenMinuteDataSyncHandler handler = new TokenMinuteDataSyncHandler(upserter, mock(ApplicationEventPublisher.class));
 
         JsonNode array = objectMapper.readTree("""
             [
@@ -47,10 +50,10 @@ class TokenMinuteDataSyncHandlerTest {
 
         handler.handleTokenMinuteData("scroll-sepolia", array);
 
-        ArgumentCaptor<List<TokenMinuteData>> captor = ArgumentCaptor.forClass(List.class);
-        verify(repo).saveAll(captor.capture());
+        ArgumentCaptor<Collection<TokenMinuteData>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(upserter).upsert(eq(TokenMinuteDataSyncHandler.TOKEN_MINUTE_DATA), captor.capture());
 
-        List<TokenMinuteData> saved = captor.getValue();
+        List<TokenMinuteData> saved = new ArrayList<>(captor.getValue());
         assertNotNull(saved);
         assertEquals(1, saved.size());
 
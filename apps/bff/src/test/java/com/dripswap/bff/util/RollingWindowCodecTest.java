@@ -0,0 +1,37 @@
+package com.dripswap.bff.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RollingWindowCodecTest {
+
+    @Test
+    void roundTripsConsecutiveIndexesInAboutOneBytePerElement() {
+        int[] minutes = new int[60];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = 28_333_000 + i;
+        }
+
+        byte[] encoded = RollingWindowCodec.encode(minutes);
+
+        assertArrayEquals(minutes, RollingWindowCodec.decode(encoded));
+        assertEquals(1 + 1 + 4 + 59, encoded.length);
+    }
+
+    @Test
+    void handlesEmptyGapsAndNegativeDeltas() {
+        assertArrayEquals(new int[0], RollingWindowCodec.decode(RollingWindowCodec.empty()));
+        assertArrayEquals(new int[0], RollingWindowCodec.decode(null));
+
+        int[] values = {5, 3, 1_000_000, -7, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        assertArrayEquals(values, RollingWindowCodec.decode(RollingWindowCodec.encode(values)));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        assertThrows(IllegalArgumentException.class, () -> RollingWindowCodec.decode(new byte[]{9, 0}));
+    }
+}